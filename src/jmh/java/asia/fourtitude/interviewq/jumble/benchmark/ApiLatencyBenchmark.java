@@ -0,0 +1,124 @@
+package asia.fourtitude.interviewq.jumble.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+import asia.fourtitude.interviewq.jumble.JumbleApplication;
+
+/**
+ * End-to-end latency of the blocking (`/api/...`) and asynchronous
+ * (`/api/async/...`) endpoints, from 64 concurrent clients against a server
+ * started in the benchmark JVM with a small Tomcat pool.
+ *
+ * The engine work costs the same on either side, plus a thread hand-off for
+ * the asynchronous one, so CPU-bound requests get no faster: the gain is the
+ * Tomcat threads left free for other requests while the compute executor, of
+ * `computeThreads` threads, runs the engine work. Non-200 responses (503 of a
+ * full compute queue) are counted in the score, compare them in the logs.
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="ApiLatencyBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class ApiLatencyBenchmark {
+
+    @Param({ "/api/", "/api/async/" })
+    public String api;
+
+    @Param({ "game/new", "word/con?limit=100", "word?pattern=*ing&limit=1000" })
+    public String endpoint;
+
+    @Param({ "16" })
+    public int tomcatThreads;
+
+    @Param({ "0", "4" })
+    public int computeThreads;
+
+    /*
+     * The application, without the test configurations on the benchmark
+     * classpath.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @ComponentScan(basePackageClasses = JumbleApplication.class, excludeFilters = {
+            @ComponentScan.Filter(TestConfiguration.class),
+            @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = JumbleApplication.class) })
+    static class Application {
+    }
+
+    private ConfigurableApplicationContext context;
+
+    private URL url;
+
+    @Setup
+    public void setUp() throws IOException {
+        SpringApplication application = new SpringApplication(Application.class);
+        context = application.run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--server.tomcat.accept-count=1000",
+                "--jumble.async.enabled=true",
+                "--jumble.async.threads=" + computeThreads,
+                "--logging.level.root=WARN");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        url = new URL("http://localhost:" + port + api + endpoint);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int request() {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            int status = connection.getResponseCode();
+            InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            int length = 0;
+            if (body != null) {
+                // read the response fully, so the connection is kept alive
+                byte[] buffer = new byte[8192];
+                for (int read; (read = body.read(buffer)) >= 0;) {
+                    length += read;
+                }
+                body.close();
+            }
+            return status + length;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package asia.fourtitude.interviewq.jumble.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import asia.fourtitude.interviewq.jumble.core.Dictionary;
+
+/**
+ * Dictionaries of different sizes for benchmarks.
+ */
+final class Dictionaries {
+
+    /**
+     * Size parameter value meaning the bundled "words.txt" (64k words).
+     */
+    static final String BUNDLED = "bundled";
+
+    private Dictionaries() {
+    }
+
+    /**
+     * @param size Either {@link #BUNDLED}, or number of words to generate.
+     * @return The dictionary.
+     */
+    static Dictionary create(String size) {
+        if (BUNDLED.equals(size)) {
+            return Dictionary.load();
+        }
+        return synthetic(Integer.parseInt(size), 42L);
+    }
+
+    /**
+     * Generates random lower-case words of length 3 to 14, on top of the bundled
+     * words, until there are `size` distinct words.
+     */
+    static Dictionary synthetic(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Set<String> words = new HashSet<>(Dictionary.load().words());
+        char[] buf = new char[14];
+        while (words.size() < size) {
+            int length = 3 + random.nextInt(12);
+            for (int ix = 0; ix < length; ix += 1) {
+                buf[ix] = (char) ('a' + random.nextInt(26));
+            }
+            words.add(new String(buf, 0, length));
+        }
+        return Dictionary.of(words);
+    }
+
+    /**
+     * Picks `count` words of `length` (with repeats when the dictionary has fewer),
+     * skipping words made of a single repeated letter, which cannot be scrambled.
+     */
+    static String[] sample(Dictionary dictionary, int length, int count, long seed) {
+        List<String> candidates = new ArrayList<>();
+        for (String word : dictionary.wordsOfLength(length)) {
+            if (word.chars().distinct().count() > 1) {
+                candidates.add(word);
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No word of length=[" + length + "] in dictionary=[" + dictionary + "]");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] sample = new String[count];
+        for (int ix = 0; ix < count; ix += 1) {
+            sample[ix] = candidates.get(random.nextInt(candidates.size()));
+        }
+        return sample;
+    }
+
+    /**
+     * Picks `count` query words: about `hitRatio` of them from the dictionary
+     * (in mixed case), the rest random letters that are mostly misses.
+     */
+    static String[] queries(Dictionary dictionary, int count, double hitRatio, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] queries = new String[count];
+        for (int ix = 0; ix < count; ix += 1) {
+            if (random.nextDouble() < hitRatio) {
+                char[] chars = dictionary.get(random.nextInt(dictionary.size())).toCharArray();
+                chars[0] = Character.toUpperCase(chars[0]);
+                queries[ix] = new String(chars);
+            } else {
+                char[] chars = new char[3 + random.nextInt(10)];
+                for (int jx = 0; jx < chars.length; jx += 1) {
+                    chars[jx] = (char) ('a' + random.nextInt(26));
+                }
+                queries[ix] = new String(chars);
+            }
+        }
+        return queries;
+    }
+
+}
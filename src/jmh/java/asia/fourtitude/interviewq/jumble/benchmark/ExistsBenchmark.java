@@ -0,0 +1,57 @@
+package asia.fourtitude.interviewq.jumble.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+
+/**
+ * Latency distribution of {@link JumbleEngine#exists(String)}. The sample time
+ * mode reports the p50/p90/p99/p99.9 percentiles, per dictionary size.
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="ExistsBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExistsBenchmark {
+
+    @Param({ Dictionaries.BUNDLED, "2000000" })
+    public String size;
+
+    @Param({ "0.5" })
+    public double hitRatio;
+
+    private JumbleEngine engine;
+
+    private String[] queries;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        engine = new JumbleEngine(Dictionaries.create(size));
+        queries = Dictionaries.queries(engine.getDictionary(), 1 << 16, hitRatio, 7L);
+    }
+
+    @Benchmark
+    public boolean exists() {
+        String word = queries[next++ & (queries.length - 1)];
+        return engine.exists(word);
+    }
+
+}
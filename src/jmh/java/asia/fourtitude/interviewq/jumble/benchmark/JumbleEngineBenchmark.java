@@ -0,0 +1,118 @@
+package asia.fourtitude.interviewq.jumble.benchmark;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.SubWordCache;
+
+/**
+ * Throughput of every {@link JumbleEngine} operation, per dictionary size and
+ * input length. Run through {@link BenchmarkMain} so that the GC profiler also
+ * reports the allocation rate ("gc.alloc.rate.norm" is bytes per operation).
+ *
+ * The inputs are words of `length` picked from the dictionary: the word itself
+ * is the prefix/suffix/rack, and its first letter, last letter and length are
+ * the search criteria.
+ *
+ * The sub-word cache is disabled: the inputs rotate through far fewer keys than
+ * it holds, so after warmup generateSubWords() and createGameState() would only
+ * measure cache hits.
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="JumbleEngineBenchmark -p size=bundled"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JumbleEngineBenchmark {
+
+    @Param({ Dictionaries.BUNDLED, "500000", "2000000" })
+    public String size;
+
+    @Param({ "3", "6", "10" })
+    public int length;
+
+    private JumbleEngine engine;
+
+    private String[] inputs;
+
+    private String[] queries;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        engine = new JumbleEngine(Dictionaries.create(size), new SubWordCache(0));
+        inputs = Dictionaries.sample(engine.getDictionary(), length, 1 << 10, 7L);
+        queries = Dictionaries.queries(engine.getDictionary(), 1 << 10, 0.5, 7L);
+    }
+
+    private String nextInput() {
+        return inputs[next++ & (inputs.length - 1)];
+    }
+
+    @Benchmark
+    public String scramble() {
+        return engine.scramble(nextInput());
+    }
+
+    @Benchmark
+    public boolean exists() {
+        return engine.exists(queries[next++ & (queries.length - 1)]);
+    }
+
+    @Benchmark
+    public Collection<String> wordsMatchingPrefix() {
+        return engine.wordsMatchingPrefix(nextInput());
+    }
+
+    @Benchmark
+    public Collection<String> wordsMatchingSuffix() {
+        return engine.wordsMatchingSuffix(nextInput());
+    }
+
+    @Benchmark
+    public int searchWords() {
+        String input = nextInput();
+        Collection<String> words = engine.searchWords(input.charAt(0), input.charAt(input.length() - 1),
+                input.length());
+        return words.size();
+    }
+
+    @Benchmark
+    public String pickOneRandomWord() {
+        return engine.pickOneRandomWord(length);
+    }
+
+    @Benchmark
+    public Collection<String> generateSubWords() {
+        return engine.generateSubWords(nextInput(), 3);
+    }
+
+    @Benchmark
+    public Collection<String> retrievePalindromeWords() {
+        return engine.retrievePalindromeWords();
+    }
+
+    @Benchmark
+    public GameState createGameState() {
+        return engine.createGameState(length, 3);
+    }
+
+}
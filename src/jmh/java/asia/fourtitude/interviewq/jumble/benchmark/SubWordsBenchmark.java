@@ -0,0 +1,73 @@
+package asia.fourtitude.interviewq.jumble.benchmark;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import asia.fourtitude.interviewq.jumble.core.Dictionary;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.SubWordCache;
+import asia.fourtitude.interviewq.jumble.core.SubWordExecutor;
+
+/**
+ * Latency of {@link JumbleEngine#generateSubWords(String, Integer)} for long
+ * racks, on the calling thread (parallelism=0) or split over a
+ * {@link SubWordExecutor} of `parallelism` threads. Not cached.
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="SubWordsBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubWordsBenchmark {
+
+    @Param({ "10", "13", "16", "20" })
+    public int length;
+
+    @Param({ "0", "2", "4" })
+    public int parallelism;
+
+    private SubWordExecutor executor;
+
+    private JumbleEngine engine;
+
+    private String[] racks;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Dictionary dictionary = Dictionaries.create(Dictionaries.BUNDLED);
+        executor = parallelism == 0 ? null : new SubWordExecutor(parallelism, 1);
+        engine = new JumbleEngine(dictionary, new SubWordCache(0), executor);
+        racks = Dictionaries.sample(dictionary, length, 1 << 6, 7L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    @Benchmark
+    public Collection<String> generateSubWords() {
+        return engine.generateSubWords(racks[next++ & (racks.length - 1)], 3);
+    }
+
+}
@@ -1,16 +1,157 @@
 package asia.fourtitude.interviewq.jumble;
 
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
 
+import asia.fourtitude.interviewq.jumble.core.BinaryDictionary;
+import asia.fourtitude.interviewq.jumble.core.Dictionary;
+import asia.fourtitude.interviewq.jumble.core.DictionaryWatcher;
+import asia.fourtitude.interviewq.jumble.core.GameStatePool;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.SubWordCache;
+import asia.fourtitude.interviewq.jumble.core.SubWordExecutor;
+import asia.fourtitude.interviewq.jumble.core.WordFilter;
+import asia.fourtitude.interviewq.jumble.metrics.JumbleMetrics;
+import asia.fourtitude.interviewq.jumble.metrics.MeteredJumbleEngine;
+import asia.fourtitude.interviewq.jumble.repository.FileGameRepository;
+import asia.fourtitude.interviewq.jumble.repository.GameRepository;
+import asia.fourtitude.interviewq.jumble.repository.InMemoryGameRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 public class AppConfig {
 
+    /**
+     * The word list at `jumble.dictionary.path`, or the memory-mapped binary
+     * dictionary at `jumble.dictionary.binary-path` (see
+     * {@link BinaryDictionary}), or else the bundled word list. Filtered for
+     * fast negative lookups unless `jumble.dictionary.filter.false-positive-rate`
+     * is 0 (see {@link WordFilter}).
+     */
+    @Bean
+    public Dictionary dictionary(@Value("${jumble.dictionary.path:}") String path,
+            @Value("${jumble.dictionary.binary-path:}") String binaryPath,
+            @Value("${jumble.dictionary.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        Dictionary dictionary;
+        if (!path.isEmpty()) {
+            dictionary = Dictionary.load(new FileSystemResource(path));
+        } else if (!binaryPath.isEmpty()) {
+            dictionary = BinaryDictionary.open(Paths.get(binaryPath));
+        } else {
+            dictionary = Dictionary.load();
+        }
+        return filtered(dictionary, falsePositiveRate);
+    }
+
+    private static Dictionary filtered(Dictionary dictionary, double falsePositiveRate) {
+        return falsePositiveRate == 0 ? dictionary : dictionary.withFilter(falsePositiveRate);
+    }
+
+    /**
+     * Reloads the dictionary file when changed, with
+     * `jumble.dictionary.watch=true` (see {@link DictionaryWatcher}).
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "jumble.dictionary.watch", havingValue = "true")
+    public DictionaryWatcher dictionaryWatcher(JumbleEngine jumbleEngine,
+            @Value("${jumble.dictionary.path:}") String path,
+            @Value("${jumble.dictionary.binary-path:}") String binaryPath,
+            @Value("${jumble.dictionary.filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${jumble.dictionary.watch-debounce:2s}") Duration debounce) {
+        if (!path.isEmpty()) {
+            return new DictionaryWatcher(Paths.get(path),
+                    file -> filtered(Dictionary.load(new FileSystemResource(file)), falsePositiveRate), jumbleEngine,
+                    debounce);
+        }
+        if (!binaryPath.isEmpty()) {
+            return new DictionaryWatcher(Paths.get(binaryPath),
+                    file -> filtered(BinaryDictionary.open(file), falsePositiveRate), jumbleEngine, debounce);
+        }
+        throw new IllegalStateException(
+                "jumble.dictionary.watch=true requires jumble.dictionary.path or jumble.dictionary.binary-path");
+    }
+
+    @Bean
+    public SubWordCache subWordCache(@Value("${jumble.sub-word-cache.capacity:10000}") int capacity) {
+        return new SubWordCache(capacity);
+    }
+
+    /**
+     * Searches the sub-words of racks from `jumble.sub-words.parallel-threshold`
+     * letters on `jumble.sub-words.parallelism` threads of their own (see
+     * {@link SubWordExecutor}).
+     */
+    @Bean(destroyMethod = "close")
+    public SubWordExecutor subWordExecutor(@Value("${jumble.sub-words.parallelism:2}") int parallelism,
+            @Value("${jumble.sub-words.parallel-threshold:10}") int threshold) {
+        return new SubWordExecutor(parallelism, threshold);
+    }
+
+    /**
+     * The engine, timed per method (see {@link MeteredJumbleEngine}).
+     */
+    @Bean
+    public JumbleEngine jumbleEngine(Dictionary dictionary, SubWordCache subWordCache,
+            SubWordExecutor subWordExecutor, MeterRegistry meterRegistry) {
+        return new MeteredJumbleEngine(dictionary, subWordCache, subWordExecutor, meterRegistry);
+    }
+
+    /**
+     * Ready-made game states for the game controllers, which all create games of
+     * (6, 3).
+     */
+    @Bean(destroyMethod = "close")
+    public GameStatePool gameStatePool(JumbleEngine jumbleEngine,
+            @Value("${jumble.game-pool.watermark:16}") int watermark,
+            @Value("${jumble.game-pool.threads:1}") int threads) {
+        GameStatePool pool = new GameStatePool(jumbleEngine, watermark, threads);
+        pool.prefill(6, 3);
+        return pool;
+    }
+
+    /**
+     * Games of the REST API, expired when idle and bounded in number. Kept in
+     * memory only, or also logged to `jumble.games.file.directory` when
+     * `jumble.games.store=file` (see {@link FileGameRepository}).
+     */
+    @Bean(destroyMethod = "close")
+    public GameRepository gameRepository(@Value("${jumble.games.store:memory}") String store,
+            @Value("${jumble.games.max-entries:100000}") int maxEntries,
+            @Value("${jumble.games.idle-ttl:30m}") Duration idleTtl,
+            @Value("${jumble.games.finished-ttl:1m}") Duration finishedTtl,
+            @Value("${jumble.games.sweep-interval:30s}") Duration sweepInterval,
+            @Value("${jumble.games.file.directory:games}") String directory,
+            @Value("${jumble.games.file.snapshot-interval:5m}") Duration snapshotInterval,
+            @Value("${jumble.games.file.fsync:true}") boolean fsync) {
+        InMemoryGameRepository games = new InMemoryGameRepository(maxEntries, idleTtl, finishedTtl, sweepInterval);
+        switch (store) {
+        case "memory":
+            return games;
+        case "file":
+            return new FileGameRepository(Paths.get(directory), games, snapshotInterval, fsync);
+        default:
+            games.close();
+            throw new IllegalArgumentException("Invalid jumble.games.store=[" + store + "], expect memory or file");
+        }
+    }
+
+    /**
+     * Bound by the registry while it is created, so the engine (which needs the
+     * registry), the game pool and the optional dictionary watcher are only
+     * looked up when scraped.
+     */
     @Bean
-    public JumbleEngine jumbleEngine() {
-        return new JumbleEngine();
+    public JumbleMetrics jumbleMetrics(ObjectProvider<JumbleEngine> jumbleEngine, GameRepository gameRepository,
+            ObjectProvider<GameStatePool> gameStatePool, ObjectProvider<DictionaryWatcher> dictionaryWatcher) {
+        return new JumbleMetrics(jumbleEngine::getObject, gameRepository, gameStatePool::getObject,
+                dictionaryWatcher::getIfAvailable);
     }
 
 }
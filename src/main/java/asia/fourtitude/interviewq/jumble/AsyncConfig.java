@@ -0,0 +1,46 @@
+package asia.fourtitude.interviewq.jumble;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import asia.fourtitude.interviewq.jumble.controller.GameAsyncApiController;
+import asia.fourtitude.interviewq.jumble.controller.WordAsyncApiController;
+
+/**
+ * The asynchronous APIs under `/api/async`, with `jumble.async.enabled=true`
+ * (see {@link GameAsyncApiController} and {@link WordAsyncApiController}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "jumble.async.enabled", havingValue = "true")
+public class AsyncConfig {
+
+    /**
+     * Bean name of the executor running the engine work of the asynchronous APIs.
+     */
+    public static final String COMPUTE_EXECUTOR = "computeExecutor";
+
+    /**
+     * Runs the engine work of the asynchronous APIs, off the request threads:
+     * `jumble.async.threads` threads (0 for one per processor), and at most
+     * `jumble.async.queue-capacity` requests waiting, the others rejected.
+     */
+    @Bean(name = COMPUTE_EXECUTOR, destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor computeExecutor(@Value("${jumble.async.threads:0}") int threads,
+            @Value("${jumble.async.queue-capacity:1000}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("compute-");
+        executor.setDaemon(true);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(5);
+        executor.initialize();
+        return executor;
+    }
+
+}
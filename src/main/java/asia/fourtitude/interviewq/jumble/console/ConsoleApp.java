@@ -144,6 +144,10 @@ public class ConsoleApp extends AConsole {
         cout.println("------------------");
         cout.print("Enter base word: ");
         String baseWord = cin.nextLine().trim();
+        if (baseWord.length() > JumbleEngine.MAX_RACK_LENGTH) {
+            cout.printf("Base word too long, expect at most %d letters%n", JumbleEngine.MAX_RACK_LENGTH);
+            return;
+        }
         cout.print("Minimum Length (ENTER to ignore): ");
         Integer minLength = null;
         String input = cin.nextLine().trim();
@@ -0,0 +1,33 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Runs the handlers of the asynchronous APIs on the compute executor.
+ */
+final class ComputeTasks {
+
+	private ComputeTasks() {
+	}
+
+	/**
+	 * @param executor The bounded compute executor.
+	 * @param handler  The blocking handler, producing the response.
+	 * @return The response, completed on the executor. 503 (Service Unavailable)
+	 *         when the executor is full, without waiting.
+	 */
+	static <T> CompletableFuture<ResponseEntity<T>> submit(Executor executor, Supplier<ResponseEntity<T>> handler) {
+		try {
+			return CompletableFuture.supplyAsync(handler, executor);
+		} catch (RejectedExecutionException e) {
+			return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+		}
+	}
+
+}
@@ -1,8 +1,8 @@
 package asia.fourtitude.interviewq.jumble.controller;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpStatus;
@@ -15,10 +15,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import asia.fourtitude.interviewq.jumble.core.GameState;
-import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.GameStatePool;
+import asia.fourtitude.interviewq.jumble.core.GuessOutcome;
+import asia.fourtitude.interviewq.jumble.model.GameGuessBatchInput;
+import asia.fourtitude.interviewq.jumble.model.GameGuessBatchOutput;
 import asia.fourtitude.interviewq.jumble.model.GameGuessInput;
 import asia.fourtitude.interviewq.jumble.model.GameGuessModel;
+import asia.fourtitude.interviewq.jumble.model.GameGuessOutcome;
 import asia.fourtitude.interviewq.jumble.model.GameGuessOutput;
+import asia.fourtitude.interviewq.jumble.repository.GameRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -33,16 +38,21 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @RequestMapping(path = "/api/game")
 public class GameApiController {
 
-	private final JumbleEngine jumbleEngine;
+	/*
+	 * The maximum number of words in one batch guess.
+	 */
+	static final int MAX_BATCH_WORDS = 100;
+
+	private final GameStatePool gameStatePool;
 
 	/*
-	 * In-memory database/repository for all the game boards/states.
+	 * Database/repository for all the game boards/states.
 	 */
-	private final Map<String, GameGuessModel> gameBoards;
+	private final GameRepository gameRepository;
 
-	public GameApiController(JumbleEngine jumbleEngine) {
-		this.jumbleEngine = jumbleEngine;
-		this.gameBoards = new ConcurrentHashMap<>();
+	public GameApiController(GameStatePool gameStatePool, GameRepository gameRepository) {
+		this.gameStatePool = gameStatePool;
+		this.gameRepository = gameRepository;
 	}
 
 	@Operation(summary = "Creates new game board/state", description = "Creates a new game board/state and registered into game engine referenced by `id`. All subsequent operation/play is tied to `id`.")
@@ -57,20 +67,20 @@ public class GameApiController {
 	@GetMapping(value = "/new", produces = MediaType.APPLICATION_JSON_VALUE)
 	public ResponseEntity<GameGuessOutput> newGame() {
 		GameGuessOutput output = new GameGuessOutput();
-		GameState gameState = this.jumbleEngine.createGameState(6, 3);
+		GameState gameState = this.gameStatePool.take(6, 3);
 		
 		GameGuessModel model = new GameGuessModel();
 		model.setGameState(gameState);
 		model.setId(UUID.randomUUID().toString());
 
-		gameBoards.put(model.getId(), model);
+		gameRepository.save(model);
 		
 		output.setId(model.getId());
 		output.setResult("Created new game.");
 		output.setOriginalWord(gameState.getOriginal());
 		output.setScrambleWord(gameState.getScramble());
-		output.setTotalWords(gameState.getSubWords().size());
-		output.setRemainingWords(gameState.getSubWords().size() - gameState.getGuessedWords().size());
+		output.setTotalWords(gameState.getTotalWords());
+		output.setRemainingWords(gameState.getRemainingWords());
 		output.setGuessedWords(gameState.getGuessedWords());
 
 		return new ResponseEntity<>(output, HttpStatus.OK);
@@ -126,22 +136,28 @@ public class GameApiController {
 			return new ResponseEntity<>(output, HttpStatus.NOT_FOUND);
 		}
 		
-		if(StringUtils.isNotBlank(input.getId()) && gameBoards.get(input.getId()) == null) {
+		GameGuessModel model = gameRepository.findById(input.getId());
+		if(model == null) {
 			output.setResult("Game board/state not found");
 			return new ResponseEntity<>(output, HttpStatus.NOT_FOUND);
 		}
-
-		GameGuessModel model = gameBoards.get(input.getId());
 		
-		boolean isCorrect = model.getGameState().updateGuessWord(input.getWord());
+		GameState gameState = model.getGameState();
+		GuessOutcome outcome = gameState.guessWord(input.getWord());
+		if(outcome == GuessOutcome.CORRECT) {
+			// a repeated guess changes nothing to record
+			gameRepository.recordGuess(model, input.getWord());
+		}
+		boolean isCorrect = outcome.isCorrect();
+		int remaining = gameState.getRemainingWords();
 		
 		String result = "";
 		
-		if(isCorrect && (model.getGameState().getSubWords().size() - model.getGameState().getGuessedWords().size()) == 0) {
+		if(isCorrect && remaining == 0) {
 			result = "All words guessed.";
 		}
 		
-		if(isCorrect && (model.getGameState().getSubWords().size() - model.getGameState().getGuessedWords().size()) > 0) {
+		if(isCorrect && remaining > 0) {
 			result = "Guessed correctly.";
 		}
 		
@@ -152,13 +168,96 @@ public class GameApiController {
 		
 		output.setId(model.getId());
 		output.setResult(result);
-		output.setOriginalWord(model.getGameState().getOriginal());
-		output.setScrambleWord(model.getGameState().getScramble());
-		output.setTotalWords(model.getGameState().getSubWords().size());
-		output.setRemainingWords(model.getGameState().getSubWords().size() - model.getGameState().getGuessedWords().size());
-		output.setGuessedWords(model.getGameState().getGuessedWords());
+		output.setOriginalWord(gameState.getOriginal());
+		output.setScrambleWord(gameState.getScramble());
+		output.setTotalWords(gameState.getTotalWords());
+		output.setRemainingWords(remaining);
+		output.setGuessedWords(gameState.getGuessedWords());
 		output.setGuessWord(input.getWord() == null ? "" : input.getWord());
 		
 		return new ResponseEntity<>(output, HttpStatus.OK);
 	}
+
+	@Operation(summary = "Submits several words to play the game", description = "Submits a list of guessed `words`, along with `id` to play the game. The words are guessed in order, at once (no other guess on the same game interleaves), and the response holds the outcome of each word and the final game state. At most " + MAX_BATCH_WORDS + " words.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Success", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = GameGuessBatchOutput.class), examples = {
+					@ExampleObject(name = "Guessed", description = "Guessed a batch of words.", value = "{\n"
+							+ "  \"result\": \"Guessed correctly.\",\n"
+							+ "  \"id\": \"88b4278c-5141-42af-86e6-2a1d4cfa5f3b\",\n"
+							+ "  \"original_word\": \"ranker\",\n" + "  \"scramble_word\": \"nekarr\",\n"
+							+ "  \"total_words\": 15,\n" + "  \"remaining_words\": 13,\n"
+							+ "  \"guessed_words\": [\n" + "    \"ark\",\n" + "    \"rank\"\n" + "  ],\n"
+							+ "  \"outcomes\": [\n"
+							+ "    { \"word\": \"rank\", \"outcome\": \"CORRECT\" },\n"
+							+ "    { \"word\": \"answer\", \"outcome\": \"INCORRECT\" },\n"
+							+ "    { \"word\": \"ark\", \"outcome\": \"CORRECT\" },\n"
+							+ "    { \"word\": \"rank\", \"outcome\": \"ALREADY_GUESSED\" }\n" + "  ]\n" + "}") })),
+			@ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = GameGuessBatchOutput.class), examples = {
+					@ExampleObject(name = "Invalid words", description = "The input `words` is missing, empty or too long.", value = "{\n"
+							+ "  \"result\": \"Invalid words, expect 1 to " + MAX_BATCH_WORDS + " words\"\n" + "}") })),
+			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = GameGuessBatchOutput.class), examples = {
+					@ExampleObject(name = "Invalid ID", description = "The input `ID` is invalid.", value = "{\n"
+							+ "  \"result\": \"Invalid Game ID.\"\n" + "}"),
+					@ExampleObject(name = "Record not found", description = "The `ID` is correct format, but game board/state is not found in system.", value = "{\n"
+							+ "  \"result\": \"Game board/state not found.\"\n" + "}") })) })
+	@PostMapping(value = "/guess/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<GameGuessBatchOutput> playGameBatch(
+			@Parameter(description = "Submits the `words` to guess.", required = true, schema = @Schema(implementation = GameGuessBatchInput.class), example = "{\n"
+					+ "  \"id\": \"4579256c-326f-4169-9b56-6d1d1a2c11f0\",\n" + "  \"words\": [\"answer\", \"saw\"]\n"
+					+ "}") @RequestBody GameGuessBatchInput input) {
+
+		GameGuessBatchOutput output = new GameGuessBatchOutput();
+
+		if(StringUtils.isBlank(input.getId())) {
+			output.setResult("Invalid Game ID");
+			return new ResponseEntity<>(output, HttpStatus.NOT_FOUND);
+		}
+
+		List<String> words = input.getWords();
+		if(words == null || words.isEmpty() || words.size() > MAX_BATCH_WORDS) {
+			output.setResult("Invalid words, expect 1 to " + MAX_BATCH_WORDS + " words");
+			return new ResponseEntity<>(output, HttpStatus.BAD_REQUEST);
+		}
+
+		GameGuessModel model = gameRepository.findById(input.getId());
+		if(model == null) {
+			output.setResult("Game board/state not found");
+			return new ResponseEntity<>(output, HttpStatus.NOT_FOUND);
+		}
+
+		GameState gameState = model.getGameState();
+		GuessOutcome[] outcomes = gameState.updateGuessWords(words);
+		int remaining = gameState.getRemainingWords();
+
+		boolean anyCorrect = false;
+		List<GameGuessOutcome> wordOutcomes = new ArrayList<>(outcomes.length);
+		for(int ix = 0; ix < outcomes.length; ix += 1) {
+			String word = words.get(ix);
+			if(outcomes[ix] == GuessOutcome.CORRECT) {
+				gameRepository.recordGuess(model, word);
+			}
+			anyCorrect |= outcomes[ix].isCorrect();
+			wordOutcomes.add(new GameGuessOutcome(word == null ? "" : word, outcomes[ix]));
+		}
+
+		String result;
+		if(anyCorrect && remaining == 0) {
+			result = "All words guessed.";
+		} else if(anyCorrect) {
+			result = "Guessed correctly.";
+		} else {
+			result = "Guessed incorrectly.";
+		}
+
+		output.setId(model.getId());
+		output.setResult(result);
+		output.setOriginalWord(gameState.getOriginal());
+		output.setScrambleWord(gameState.getScramble());
+		output.setTotalWords(gameState.getTotalWords());
+		output.setRemainingWords(remaining);
+		output.setGuessedWords(gameState.getGuessedWords());
+		output.setOutcomes(wordOutcomes);
+
+		return new ResponseEntity<>(output, HttpStatus.OK);
+	}
 }
@@ -0,0 +1,65 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import asia.fourtitude.interviewq.jumble.AsyncConfig;
+import asia.fourtitude.interviewq.jumble.model.GameGuessBatchInput;
+import asia.fourtitude.interviewq.jumble.model.GameGuessBatchOutput;
+import asia.fourtitude.interviewq.jumble.model.GameGuessInput;
+import asia.fourtitude.interviewq.jumble.model.GameGuessOutput;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Asynchronous variant of {@link GameApiController}, same requests and
+ * responses. The request thread is released as soon as the work is handed to
+ * the bounded compute executor; when it is full, the request is answered 503
+ * (Service Unavailable) at once.
+ */
+@RestController
+@Tag(name = "Game API (async)", description = "Guessing words game REST API endpoint, asynchronous.")
+@RequestMapping(path = "/api/async/game")
+@ConditionalOnProperty(name = "jumble.async.enabled", havingValue = "true")
+public class GameAsyncApiController {
+
+	private final GameApiController gameApiController;
+
+	private final Executor computeExecutor;
+
+	public GameAsyncApiController(GameApiController gameApiController,
+			@Qualifier(AsyncConfig.COMPUTE_EXECUTOR) Executor computeExecutor) {
+		this.gameApiController = gameApiController;
+		this.computeExecutor = computeExecutor;
+	}
+
+	@Operation(summary = "Creates new game board/state", description = "As `GET /api/game/new`, asynchronous.")
+	@GetMapping(value = "/new", produces = MediaType.APPLICATION_JSON_VALUE)
+	public CompletableFuture<ResponseEntity<GameGuessOutput>> newGame() {
+		return ComputeTasks.submit(computeExecutor, gameApiController::newGame);
+	}
+
+	@Operation(summary = "Submits word to play the game", description = "As `POST /api/game/guess`, asynchronous.")
+	@PostMapping(value = "/guess", produces = MediaType.APPLICATION_JSON_VALUE)
+	public CompletableFuture<ResponseEntity<GameGuessOutput>> playGame(@RequestBody GameGuessInput input) {
+		return ComputeTasks.submit(computeExecutor, () -> gameApiController.playGame(input));
+	}
+
+	@Operation(summary = "Submits several words at once to play the game", description = "As `POST /api/game/guess/batch`, asynchronous.")
+	@PostMapping(value = "/guess/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+	public CompletableFuture<ResponseEntity<GameGuessBatchOutput>> playGameBatch(
+			@RequestBody GameGuessBatchInput input) {
+		return ComputeTasks.submit(computeExecutor, () -> gameApiController.playGameBatch(input));
+	}
+
+}
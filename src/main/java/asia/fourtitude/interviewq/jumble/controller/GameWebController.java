@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.SessionAttributes;
 import org.springframework.web.bind.support.SessionStatus;
 
 import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.GameStatePool;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
 import asia.fourtitude.interviewq.jumble.model.GameBoard;
 
@@ -21,8 +22,11 @@ import asia.fourtitude.interviewq.jumble.model.GameBoard;
 public class GameWebController {
 	private final JumbleEngine jumbleEngine;
 
-	public GameWebController(JumbleEngine jumbleEngine) {
+	private final GameStatePool gameStatePool;
+
+	public GameWebController(JumbleEngine jumbleEngine, GameStatePool gameStatePool) {
 		this.jumbleEngine = jumbleEngine;
+		this.gameStatePool = gameStatePool;
 	}
 
 	@ModelAttribute("board")
@@ -59,7 +63,7 @@ public class GameWebController {
 
 	@GetMapping("/new")
 	public String doGetNew(@ModelAttribute(name = "board") GameBoard board, Model model) {
-		GameState state = this.jumbleEngine.createGameState(6, 3);
+		GameState state = this.gameStatePool.take(6, 3);
 
 		/*
 		 * TODO: a) Assign the created game `state` (with randomly picked word) into
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
 import asia.fourtitude.interviewq.jumble.model.ExistsForm;
+import asia.fourtitude.interviewq.jumble.model.PatternForm;
 import asia.fourtitude.interviewq.jumble.model.PrefixForm;
 import asia.fourtitude.interviewq.jumble.model.ScrambleForm;
 import asia.fourtitude.interviewq.jumble.model.SearchForm;
@@ -21,6 +22,11 @@ import asia.fourtitude.interviewq.jumble.model.SubWordsForm;
 @Controller
 @RequestMapping(path = "/")
 public class RootController {
+	/*
+	 * Words shown on the pattern page at most.
+	 */
+	static final int PATTERN_LIMIT = 500;
+
 	private final JumbleEngine jumbleEngine;
 
 	public RootController(JumbleEngine jumbleEngine) {
@@ -144,6 +150,26 @@ public class RootController {
 		return "search";
 	}
 
+	@GetMapping("pattern")
+	public String doGetPattern(Model model) {
+		model.addAttribute("form", new PatternForm());
+		return "pattern";
+	}
+
+	@PostMapping("pattern")
+	public String doPostPattern(@ModelAttribute(name = "form") PatternForm form, BindingResult bindingResult,
+			Model model) {
+		String pattern = StringUtils.trimToEmpty(form.getPattern());
+		if (!pattern.matches("[\\p{L}?*]+")) {
+			bindingResult.rejectValue("pattern", "invalid", "Invalid pattern, expect letters, ? or *");
+		} else {
+			form.setWords(jumbleEngine.wordsMatchingPattern(pattern, PATTERN_LIMIT));
+		}
+		model.addAttribute("limit", PATTERN_LIMIT);
+		model.addAttribute("form", form);
+		return "pattern";
+	}
+
 	@GetMapping("subWords")
 	public String goGetSubWords(Model model) {
 		model.addAttribute("form", new SubWordsForm());
@@ -159,7 +185,12 @@ public class RootController {
 		 * tests
 		 */
 		
-		form.setWords(jumbleEngine.generateSubWords(form.getWord(), form.getMinLength()));
+		if (StringUtils.trimToEmpty(form.getWord()).length() > JumbleEngine.MAX_RACK_LENGTH) {
+			bindingResult.rejectValue("word", "invalid",
+					"Invalid word, expect at most " + JumbleEngine.MAX_RACK_LENGTH + " letters");
+		} else {
+			form.setWords(jumbleEngine.generateSubWords(form.getWord(), form.getMinLength()));
+		}
 		model.addAttribute("form", form);
 		return "subWords";
 	}
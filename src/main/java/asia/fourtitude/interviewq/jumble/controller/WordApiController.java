@@ -1,18 +1,24 @@
 package asia.fourtitude.interviewq.jumble.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.WordOrder;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -31,9 +37,29 @@ public class WordApiController {
         this.jumbleEngine = jumbleEngine;
     }
 
+    /*
+     * Number of words of the pattern search, when `limit` is not given.
+     */
+    static final int DEFAULT_LIMIT = 50;
+
+    static final int MAX_LIMIT = 1000;
+
+    /**
+     * Response header of the total number of words matching the prefix.
+     */
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    /**
+     * Response header of the cursor to the next page, absent on the last page.
+     */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Operation(
             summary = "Auto complete based on prefix",
-            description = "Returns a list of words matching the input `prefix` (of at least 3 letters).")
+            description = "Returns the words matching the input `prefix` (of at least 3 letters): all of them "
+                    + "when `limit` is not given, as before paging, else a page of at most `limit` words. "
+                    + "The number of words matching is returned in header `" + TOTAL_COUNT_HEADER + "`, "
+                    + "and the `cursor` to the next page in header `" + NEXT_CURSOR_HEADER + "` (absent on the last page).")
     @ApiResponses(
             value = {
                     @ApiResponse(
@@ -53,21 +79,143 @@ public class WordApiController {
                                                             "  \"awesomely\",\n" +
                                                             "  \"awesomeness\",\n" +
                                                             "  \"awestruck\"\n" +
-                                                            "]") })) })
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid",
+                                                    description = "The `limit` is out of range, or the `cursor` is not from a previous page in this `order`.",
+                                                    value = "[]") })) })
     @GetMapping(value = "/{prefix}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Collection<String>> autoComplete(
             @Parameter(
                     description = "The prefix.",
                     required = true,
                     example = "awe")
-            @PathVariable String prefix) {
+            @PathVariable String prefix,
+            @Parameter(
+                    description = "The maximum number of words, 1 to " + MAX_LIMIT + ". All words when not given.",
+                    example = "20")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(
+                    description = "The cursor to the next page, from header `" + NEXT_CURSOR_HEADER + "` of the previous page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(
+                    description = "Only count the words: returns an empty list, and the count in header `" + TOTAL_COUNT_HEADER + "`.")
+            @RequestParam(defaultValue = "false") boolean countOnly,
+            @Parameter(
+                    description = "The order of the words: alphabetically, or by length (shortest first) then alphabetically.")
+            @RequestParam(defaultValue = "ALPHABETICAL") WordOrder order) {
         prefix = StringUtils.trimToEmpty(prefix);
         
         if (prefix.length() < 3) {
             return new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
         }
-        
-        return new ResponseEntity<>(jumbleEngine.wordsMatchingPrefix(prefix), HttpStatus.OK);
+
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.BAD_REQUEST);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(TOTAL_COUNT_HEADER, String.valueOf(jumbleEngine.countWordsMatchingPrefix(prefix)));
+        if (countOnly) {
+            return new ResponseEntity<>(Collections.emptyList(), headers, HttpStatus.OK);
+        }
+
+        String after = null;
+        if (cursor != null) {
+            after = decodeCursor(cursor, order);
+            if (after == null) {
+                return new ResponseEntity<>(Collections.emptyList(), HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        if (limit == null) {
+            // unpaged, as before `limit` was added
+            return new ResponseEntity<>(jumbleEngine.wordsMatchingPrefix(prefix, order, after, Integer.MAX_VALUE),
+                    headers, HttpStatus.OK);
+        }
+        // one more word than the page, to know if there is a next page
+        List<String> words = jumbleEngine.wordsMatchingPrefix(prefix, order, after, limit + 1);
+        if (words.size() > limit) {
+            words = words.subList(0, limit);
+            headers.set(NEXT_CURSOR_HEADER, encodeCursor(words.get(limit - 1), order));
+        }
+        return new ResponseEntity<>(words, headers, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Search words by pattern",
+            description = "Returns the words matching the glob-style `pattern`, in sorted order: "
+                    + "`?` matches one letter, `*` any run of letters. At most `limit` words.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The list of words matching the `pattern`, empty if it is invalid.",
+                                                    value = "[\n" +
+                                                            "  \"ample\",\n" +
+                                                            "  \"apple\"\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid",
+                                                    description = "The `limit` is out of range.",
+                                                    value = "[]") })) })
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> searchByPattern(
+            @Parameter(
+                    description = "The pattern, of letters, `?` and `*`.",
+                    required = true,
+                    example = "a?p*e")
+            @RequestParam String pattern,
+            @Parameter(
+                    description = "The maximum number of words, 1 to " + MAX_LIMIT + ".",
+                    example = "20")
+            @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.BAD_REQUEST);
+        }
+
+        return new ResponseEntity<>(jumbleEngine.wordsMatchingPattern(StringUtils.trimToEmpty(pattern), limit),
+                HttpStatus.OK);
+    }
+
+    /*
+     * The cursor is the last word of the page, and the order it was listed in.
+     */
+    static String encodeCursor(String lastWord, WordOrder order) {
+        String value = order.ordinal() + ":" + lastWord;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+     * @return The last word of the previous page, or null if the cursor is invalid.
+     */
+    static String decodeCursor(String cursor, WordOrder order) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        String expected = order.ordinal() + ":";
+        return value.startsWith(expected) ? value.substring(expected.length()) : null;
     }
 
 }
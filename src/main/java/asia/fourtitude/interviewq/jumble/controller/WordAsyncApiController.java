@@ -0,0 +1,61 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import asia.fourtitude.interviewq.jumble.AsyncConfig;
+import asia.fourtitude.interviewq.jumble.core.WordOrder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Asynchronous variant of {@link WordApiController}, same requests, responses
+ * and headers, see {@link GameAsyncApiController}.
+ */
+@RestController
+@Tag(name = "Word API (async)", description = "Word REST API endpoint, asynchronous.")
+@RequestMapping(path = "/api/async/word")
+@ConditionalOnProperty(name = "jumble.async.enabled", havingValue = "true")
+public class WordAsyncApiController {
+    private final WordApiController wordApiController;
+
+    private final Executor computeExecutor;
+
+    public WordAsyncApiController(WordApiController wordApiController,
+            @Qualifier(AsyncConfig.COMPUTE_EXECUTOR) Executor computeExecutor) {
+        this.wordApiController = wordApiController;
+        this.computeExecutor = computeExecutor;
+    }
+
+    @Operation(summary = "Auto complete based on prefix", description = "As `GET /api/word/{prefix}`, asynchronous.")
+    @GetMapping(value = "/{prefix}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<Collection<String>>> autoComplete(
+            @PathVariable String prefix,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean countOnly,
+            @RequestParam(defaultValue = "ALPHABETICAL") WordOrder order) {
+        return ComputeTasks.submit(computeExecutor,
+                () -> wordApiController.autoComplete(prefix, limit, cursor, countOnly, order));
+    }
+
+    @Operation(summary = "Search words by pattern", description = "As `GET /api/word?pattern=`, asynchronous.")
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<Collection<String>>> searchByPattern(
+            @RequestParam String pattern,
+            @RequestParam(defaultValue = "" + WordApiController.DEFAULT_LIMIT) int limit) {
+        return ComputeTasks.submit(computeExecutor, () -> wordApiController.searchByPattern(pattern, limit));
+    }
+
+}
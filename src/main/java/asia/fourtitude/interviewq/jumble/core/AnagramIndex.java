@@ -0,0 +1,237 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Groups words by letter signature: the letters of the word in sorted order
+ * (eg. "enilst" for "listen", "silent" and "tinsel").
+ *
+ * Sub-words of a rack of letters are found by enumerating the sub-multisets of
+ * the rack (in sorted order, so each one is directly a signature) and looking
+ * each one up, instead of checking every word of the dictionary. For long
+ * racks, the subtrees of the enumeration are searched in parallel.
+ *
+ * The signatures are stored in sorted order, so those starting with the
+ * sub-multiset built so far are a range, narrowed by binary search as letters
+ * are added. A subtree whose range is empty holds no word and is skipped, so the
+ * work is bounded by the signatures of the dictionary rather than by the 2^n
+ * sub-multisets of an n-letter rack.
+ */
+final class AnagramIndex {
+
+	/*
+	 * Subtrees of at most this many keys are searched by one task.
+	 */
+	private static final double SPLIT_KEYS = 1 << 12;
+
+	/*
+	 * Distinct signatures, in sorted order: signature `ix` is the key of group
+	 * `ix`.
+	 */
+	private final WordStore signatures;
+
+	/*
+	 * Indexes of words grouped by signature, group of signature `ix` is the range
+	 * [groupStart[ix], groupStart[ix + 1]).
+	 */
+	private final IntBuffer grouped;
+
+	private final IntBuffer groupStart;
+
+	private final int maxLength;
+
+	AnagramIndex(DictionaryIndex index) {
+		this.signatures = index.signatures;
+		this.grouped = index.grouped;
+		this.groupStart = index.groupStart;
+		this.maxLength = index.maxLength();
+	}
+
+	static String signature(CharSequence word) {
+		char[] letters = new char[word.length()];
+		for (int ix = 0; ix < letters.length; ix += 1) {
+			letters[ix] = Character.toLowerCase(word.charAt(ix));
+		}
+		Arrays.sort(letters);
+		return new String(letters);
+	}
+
+	/**
+	 * Finds the words made of a sub-multiset of `letters` (each letter used at
+	 * most as many times as it appears), with length at least `minLength`.
+	 *
+	 * @param letters   The rack of letters.
+	 * @param minLength The minimum length (inclusive) of the words.
+	 * @param out       Receives the word indexes, grouped by signature.
+	 */
+	void subWords(CharSequence letters, int minLength, IntList out) {
+		char[] rack = signature(letters).toCharArray();
+		if (signatures.size() > 0) {
+			collect(rack, 0, new char[Math.min(rack.length, maxLength)], 0, 0, signatures.size(),
+					Math.max(1, minLength), out);
+		}
+	}
+
+	/**
+	 * Finds the words as {@link #subWords(CharSequence, int, IntList)}, splitting
+	 * the enumeration into subtrees run by `pool`, with work stealing.
+	 *
+	 * @param pool The pool running the subtrees, the caller waits for them.
+	 */
+	void subWords(CharSequence letters, int minLength, ForkJoinPool pool, IntList out) {
+		char[] rack = signature(letters).toCharArray();
+		// keys[pos]: the number of keys enumerated from run starting at pos, at most
+		double[] keys = new double[rack.length + 1];
+		keys[rack.length] = 1;
+		for (int end = rack.length; end > 0;) {
+			int start = end - 1;
+			while (start > 0 && rack[start - 1] == rack[end - 1]) {
+				start -= 1;
+			}
+			keys[start] = keys[end] * (end - start + 1);
+			end = start;
+		}
+		if (signatures.size() > 0) {
+			out.addAll(pool.invoke(new CollectTask(rack, keys, 0, new char[Math.min(rack.length, maxLength)], 0, 0,
+					signatures.size(), Math.max(1, minLength))));
+		}
+	}
+
+	/*
+	 * Depth first over the runs of equal letters in `rack`: takes 0 to run-length
+	 * copies of each letter into `key`, so every key built is already sorted.
+	 * [low, high) are the signatures starting with `key`, never empty.
+	 */
+	private void collect(char[] rack, int pos, char[] key, int keyLength, int low, int high, int minLength,
+			IntList out) {
+		if (keyLength + rack.length - pos < minLength) {
+			return;
+		}
+		// the shortest signature orders first, so is `key` itself if present
+		boolean found = signatures.length(low) == keyLength;
+		if (pos == rack.length || keyLength == key.length || found && high - low == 1) {
+			if (found && keyLength >= minLength) {
+				for (int ix = groupStart.get(low), to = groupStart.get(low + 1); ix < to; ix += 1) {
+					out.add(grouped.get(ix));
+				}
+			}
+			return;
+		}
+		char letter = rack[pos];
+		int run = 1;
+		while (pos + run < rack.length && rack[pos + run] == letter) {
+			run += 1;
+		}
+		collect(rack, pos + run, key, keyLength, low, high, minLength, out);
+		for (int take = 1; take <= run && keyLength + take <= key.length; take += 1) {
+			key[keyLength + take - 1] = letter;
+			int from = letterBound(low, high, keyLength + take - 1, letter);
+			high = letterBound(from, high, keyLength + take - 1, letter + 1);
+			low = from;
+			if (low == high) {
+				// no signature continues with this many copies, nor more
+				return;
+			}
+			collect(rack, pos + run, key, keyLength + take, low, high, minLength, out);
+		}
+	}
+
+	/*
+	 * Binary search in [low, high) of the signatures, which share their first
+	 * `pos` letters, for the first one with a letter at `pos` of at least `letter`
+	 * (those without a letter at `pos` order first).
+	 */
+	private int letterBound(int low, int high, int pos, int letter) {
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (signatures.length(mid) <= pos || signatures.charAt(mid, pos) < letter) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/*
+	 * Searches the subtree of `rack` from `pos`, with `key` filled up to
+	 * `keyLength` and [low, high) the signatures starting with it: forks one
+	 * subtask per number of copies of the letter at `pos` while the subtree is
+	 * large, then continues as collect().
+	 */
+	private final class CollectTask extends RecursiveTask<IntList> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final char[] rack;
+
+		private final double[] keys;
+
+		private final int pos;
+
+		private final char[] key;
+
+		private final int keyLength;
+
+		private final int low;
+
+		private final int high;
+
+		private final int minLength;
+
+		CollectTask(char[] rack, double[] keys, int pos, char[] key, int keyLength, int low, int high,
+				int minLength) {
+			this.rack = rack;
+			this.keys = keys;
+			this.pos = pos;
+			this.key = key;
+			this.keyLength = keyLength;
+			this.low = low;
+			this.high = high;
+			this.minLength = minLength;
+		}
+
+		@Override
+		protected IntList compute() {
+			IntList out = new IntList(16);
+			if (keys[pos] <= SPLIT_KEYS || pos == rack.length || keyLength == key.length
+					|| keyLength + rack.length - pos < minLength) {
+				collect(rack, pos, key, keyLength, low, high, minLength, out);
+				return out;
+			}
+			char letter = rack[pos];
+			int run = 1;
+			while (pos + run < rack.length && rack[pos + run] == letter) {
+				run += 1;
+			}
+			List<CollectTask> subtrees = new ArrayList<>(run + 1);
+			subtrees.add(new CollectTask(rack, keys, pos + run, key.clone(), keyLength, low, high, minLength));
+			char[] next = key.clone();
+			int from = low;
+			int to = high;
+			for (int take = 1; take <= run && keyLength + take <= key.length; take += 1) {
+				next[keyLength + take - 1] = letter;
+				int narrowed = letterBound(from, to, keyLength + take - 1, letter);
+				to = letterBound(narrowed, to, keyLength + take - 1, letter + 1);
+				from = narrowed;
+				if (from == to) {
+					break;
+				}
+				subtrees.add(new CollectTask(rack, keys, pos + run, next.clone(), keyLength + take, from, to,
+						minLength));
+			}
+			for (CollectTask subtree : ForkJoinTask.invokeAll(subtrees)) {
+				out.addAll(subtree.join());
+			}
+			return out;
+		}
+
+	}
+
+}
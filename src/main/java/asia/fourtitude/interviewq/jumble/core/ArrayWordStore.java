@@ -0,0 +1,34 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Words held on heap, as shared String instances.
+ */
+final class ArrayWordStore implements WordStore {
+
+	private final String[] words;
+
+	ArrayWordStore(String[] words) {
+		this.words = words;
+	}
+
+	@Override
+	public int size() {
+		return words.length;
+	}
+
+	@Override
+	public int length(int index) {
+		return words[index].length();
+	}
+
+	@Override
+	public char charAt(int index, int pos) {
+		return words[index].charAt(pos);
+	}
+
+	@Override
+	public String get(int index) {
+		return words[index];
+	}
+
+}
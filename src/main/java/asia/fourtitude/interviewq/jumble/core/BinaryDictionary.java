@@ -0,0 +1,246 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes the binary dictionary format: the word list together with
+ * all the pre-computed index sections of {@link Dictionary}, so that a large
+ * dictionary opens by memory-mapping one file instead of parsing and indexing
+ * text on every start.
+ *
+ * Layout (little-endian, every section aligned to 4 bytes):
+ *
+ * <pre>
+ * header:   magic "JMBL", version (int), flags (int), word count (int),
+ *           section count (int), then (offset, length) int pairs per section
+ * sections: WORD_OFFSETS, WORDS, HASH_SLOTS, SUFFIX_ORDER, LENGTH_START,
+ *           LENGTH_ORDER, BUCKET_START, START_END_ORDER, SIGNATURE_OFFSETS,
+ *           SIGNATURES, GROUP_START, GROUPED, PALINDROMES, SEMORDNILAPS
+ * </pre>
+ *
+ * WORDS and SIGNATURES are regions of length-prefixed UTF-8 entries (unsigned
+ * 16-bit byte length, then the bytes), located by their OFFSETS sections. All
+ * other sections are int arrays, as described in {@link DictionaryIndex}.
+ *
+ * The file is mapped as one region, so it is limited to 2GB.
+ *
+ * Convert a word list with:
+ *
+ * <pre>
+ * java -cp jumble.jar asia.fourtitude.interviewq.jumble.core.BinaryDictionary words.txt words.dict
+ * </pre>
+ */
+public final class BinaryDictionary {
+
+	static final int MAGIC = 0x4C424D4A; // "JMBL", little-endian
+
+	static final int VERSION = 2;
+
+	static final int FLAG_ASCII = 1;
+
+	private static final int WORD_OFFSETS = 0;
+	private static final int WORDS = 1;
+	private static final int HASH_SLOTS = 2;
+	private static final int SUFFIX_ORDER = 3;
+	private static final int LENGTH_START = 4;
+	private static final int LENGTH_ORDER = 5;
+	private static final int BUCKET_START = 6;
+	private static final int START_END_ORDER = 7;
+	private static final int SIGNATURE_OFFSETS = 8;
+	private static final int SIGNATURES = 9;
+	private static final int GROUP_START = 10;
+	private static final int GROUPED = 11;
+	private static final int PALINDROMES = 12;
+	private static final int SEMORDNILAPS = 13;
+	private static final int SECTIONS = 14;
+
+	private static final int HEADER_SIZE = 5 * 4 + SECTIONS * 2 * 4;
+
+	private BinaryDictionary() {
+	}
+
+	/**
+	 * Opens a binary dictionary file by memory-mapping it read-only. Words and
+	 * indexes stay in the mapped file (off heap); Strings are only created for
+	 * the words returned by queries.
+	 *
+	 * @param path The binary dictionary file.
+	 * @return The dictionary snapshot.
+	 * @throws UncheckedIOException if the file cannot be read, or is not a valid
+	 *                              binary dictionary.
+	 */
+	public static Dictionary open(Path path) {
+		ByteBuffer file;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read dictionary=[" + path + "]", e);
+		}
+		file.order(ByteOrder.LITTLE_ENDIAN);
+		if (file.limit() < HEADER_SIZE || file.getInt(0) != MAGIC) {
+			throw new UncheckedIOException(new IOException("Not a binary dictionary=[" + path + "]"));
+		}
+		if (file.getInt(4) != VERSION || file.getInt(16) != SECTIONS) {
+			throw new UncheckedIOException(
+					new IOException("Unsupported version=[" + file.getInt(4) + "], dictionary=[" + path + "]"));
+		}
+		boolean ascii = (file.getInt(8) & FLAG_ASCII) != 0;
+
+		WordStore words = new MappedWordStore(bytes(file, WORDS), ints(file, WORD_OFFSETS), ascii);
+		WordStore signatures = new MappedWordStore(bytes(file, SIGNATURES), ints(file, SIGNATURE_OFFSETS), ascii);
+		DictionaryIndex index = new DictionaryIndex(ints(file, HASH_SLOTS), ints(file, SUFFIX_ORDER),
+				ints(file, LENGTH_START), ints(file, LENGTH_ORDER), ints(file, BUCKET_START),
+				ints(file, START_END_ORDER), signatures, ints(file, GROUP_START), ints(file, GROUPED),
+				ints(file, PALINDROMES), ints(file, SEMORDNILAPS));
+		return new Dictionary(words, index);
+	}
+
+	private static ByteBuffer bytes(ByteBuffer file, int section) {
+		int offset = file.getInt(20 + section * 8);
+		int length = file.getInt(24 + section * 8);
+		ByteBuffer slice = file.duplicate();
+		((Buffer) slice).limit(offset + length);
+		((Buffer) slice).position(offset);
+		// slice() resets the byte order to big-endian
+		return slice.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static IntBuffer ints(ByteBuffer file, int section) {
+		return bytes(file, section).asIntBuffer();
+	}
+
+	/**
+	 * Writes `dictionary` in the binary format.
+	 *
+	 * @param dictionary The dictionary snapshot.
+	 * @param path       The file to write, replaced if it exists.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public static void write(Dictionary dictionary, Path path) throws IOException {
+		WordStore words = dictionary.store();
+		DictionaryIndex index = dictionary.index();
+		boolean ascii = isAscii(words) && isAscii(index.signatures);
+
+		ByteBuffer[] sections = new ByteBuffer[SECTIONS];
+		int[] wordOffsets = new int[words.size()];
+		sections[WORDS] = entries(words, wordOffsets);
+		sections[WORD_OFFSETS] = ints(IntBuffer.wrap(wordOffsets));
+		int[] signatureOffsets = new int[index.signatures.size()];
+		sections[SIGNATURES] = entries(index.signatures, signatureOffsets);
+		sections[SIGNATURE_OFFSETS] = ints(IntBuffer.wrap(signatureOffsets));
+		sections[HASH_SLOTS] = ints(index.hashSlots);
+		sections[SUFFIX_ORDER] = ints(index.suffixOrder);
+		sections[LENGTH_START] = ints(index.lengthStart);
+		sections[LENGTH_ORDER] = ints(index.lengthOrder);
+		sections[BUCKET_START] = ints(index.bucketStart);
+		sections[START_END_ORDER] = ints(index.startEndOrder);
+		sections[GROUP_START] = ints(index.groupStart);
+		sections[GROUPED] = ints(index.grouped);
+		sections[PALINDROMES] = ints(index.palindromes);
+		sections[SEMORDNILAPS] = ints(index.semordnilaps);
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(MAGIC).putInt(VERSION).putInt(ascii ? FLAG_ASCII : 0).putInt(words.size()).putInt(SECTIONS);
+		long offset = HEADER_SIZE;
+		for (ByteBuffer section : sections) {
+			offset = align(offset);
+			header.putInt((int) offset).putInt(section.remaining());
+			offset += section.remaining();
+		}
+		if (offset > Integer.MAX_VALUE) {
+			throw new IOException("Dictionary too large for binary format, size=[" + offset + "]");
+		}
+		((Buffer) header).flip();
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			writeFully(channel, header);
+			ByteBuffer padding = ByteBuffer.allocate(4);
+			for (ByteBuffer section : sections) {
+				((Buffer) padding).clear().limit((int) (align(channel.position()) - channel.position()));
+				writeFully(channel, padding);
+				writeFully(channel, section);
+			}
+		}
+	}
+
+	private static long align(long offset) {
+		return (offset + 3) & ~3L;
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private static ByteBuffer ints(IntBuffer values) {
+		IntBuffer source = values.duplicate();
+		((Buffer) source).clear();
+		ByteBuffer bytes = ByteBuffer.allocate(source.remaining() * 4).order(ByteOrder.LITTLE_ENDIAN);
+		bytes.asIntBuffer().put(source);
+		return bytes;
+	}
+
+	private static ByteBuffer entries(WordStore words, int[] offsets) throws IOException {
+		byte[][] encoded = new byte[words.size()][];
+		int size = 0;
+		for (int ix = 0; ix < encoded.length; ix += 1) {
+			encoded[ix] = words.get(ix).getBytes(StandardCharsets.UTF_8);
+			if (encoded[ix].length > 0xFFFF) {
+				throw new IOException("Word too long, index=[" + ix + "]");
+			}
+			offsets[ix] = size;
+			size += 2 + encoded[ix].length;
+		}
+		ByteBuffer bytes = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+		for (byte[] entry : encoded) {
+			bytes.putShort((short) entry.length).put(entry);
+		}
+		((Buffer) bytes).flip();
+		return bytes;
+	}
+
+	private static boolean isAscii(WordStore words) {
+		for (int ix = 0; ix < words.size(); ix += 1) {
+			for (int pos = 0, length = words.length(ix); pos < length; pos += 1) {
+				if (words.charAt(ix, pos) >= 0x80) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Converts a text word list (one word per line, UTF-8) to the binary format.
+	 *
+	 * @param args The text file, then the binary file to write.
+	 * @throws IOException if either file cannot be read/written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: BinaryDictionary <words.txt> <words.dict>");
+			System.exit(2);
+		}
+		Dictionary dictionary;
+		try (InputStream inputStream = Files.newInputStream(Paths.get(args[0]))) {
+			dictionary = Dictionary.load(inputStream);
+		}
+		write(dictionary, Paths.get(args[1]));
+		System.out.println("Wrote " + dictionary + " to " + args[1]);
+	}
+
+}
@@ -0,0 +1,613 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * Immutable snapshot of the word list/dictionary.
+ *
+ * Words are trimmed, lower-cased, de-duplicated and sorted once when the
+ * snapshot is built. The snapshot never changes afterwards, so one instance is
+ * safely shared by all threads and all {@link JumbleEngine} calls.
+ */
+public final class Dictionary {
+
+	/**
+	 * The bundled word list, on classpath.
+	 */
+	public static final String DEFAULT_RESOURCE = "words.txt";
+
+	private final WordStore words;
+
+	private final DictionaryIndex index;
+
+	private final List<String> view;
+
+	private final WordHashTable table;
+
+	private final AnagramIndex anagrams;
+
+	private final List<String> palindromes;
+
+	private final List<String> semordnilaps;
+
+	/*
+	 * Checked before the exact lookup, or null.
+	 */
+	private final WordFilter filter;
+
+	Dictionary(WordStore words, DictionaryIndex index) {
+		this.words = words;
+		this.index = index;
+		this.view = SliceList.range(words, 0, words.size());
+		this.table = new WordHashTable(words, index.hashSlots);
+		this.anagrams = new AnagramIndex(index);
+		this.palindromes = SliceList.of(words, index.palindromes);
+		this.semordnilaps = SliceList.of(words, index.semordnilaps);
+		this.filter = null;
+	}
+
+	private Dictionary(Dictionary source, WordFilter filter) {
+		this.words = source.words;
+		this.index = source.index;
+		this.view = source.view;
+		this.table = source.table;
+		this.anagrams = source.anagrams;
+		this.palindromes = source.palindromes;
+		this.semordnilaps = source.semordnilaps;
+		this.filter = filter;
+	}
+
+	private Dictionary(String[] words) {
+		this(new ArrayWordStore(words), DictionaryIndex.build(words));
+	}
+
+	WordStore store() {
+		return words;
+	}
+
+	DictionaryIndex index() {
+		return index;
+	}
+
+	/**
+	 * Loads the bundled word list ("src/main/resources/words.txt").
+	 *
+	 * @return The dictionary snapshot.
+	 */
+	public static Dictionary load() {
+		return load(new ClassPathResource(DEFAULT_RESOURCE));
+	}
+
+	/**
+	 * Loads the word list from `resource`, one word per line.
+	 *
+	 * @param resource The resource to read from.
+	 * @return The dictionary snapshot.
+	 * @throws UncheckedIOException if the resource cannot be read.
+	 */
+	public static Dictionary load(Resource resource) {
+		try (InputStream inputStream = resource.getInputStream()) {
+			return load(inputStream);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read dictionary=[" + resource + "]", e);
+		}
+	}
+
+	/**
+	 * Loads the word list from UTF-8 `inputStream`, one word per line. The stream
+	 * is not closed.
+	 *
+	 * @param inputStream The stream to read from.
+	 * @return The dictionary snapshot.
+	 * @throws IOException if the stream cannot be read.
+	 */
+	public static Dictionary load(InputStream inputStream) throws IOException {
+		List<String> lines = new ArrayList<>(1 << 16);
+		BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lines.add(line);
+		}
+		return of(lines);
+	}
+
+	/**
+	 * Builds a dictionary snapshot from the given words. Blank entries are
+	 * skipped.
+	 *
+	 * @param words The words.
+	 * @return The dictionary snapshot.
+	 */
+	public static Dictionary of(Collection<String> words) {
+		String[] normalized = new String[words.size()];
+		int count = 0;
+		for (String word : words) {
+			if (word == null) {
+				continue;
+			}
+			word = word.trim();
+			if (!word.isEmpty()) {
+				normalized[count++] = word.toLowerCase(Locale.ROOT);
+			}
+		}
+		Arrays.sort(normalized, 0, count);
+
+		int distinct = 0;
+		for (int ix = 0; ix < count; ix += 1) {
+			if (distinct == 0 || !normalized[ix].equals(normalized[distinct - 1])) {
+				normalized[distinct++] = normalized[ix];
+			}
+		}
+		return new Dictionary(distinct == normalized.length ? normalized : Arrays.copyOf(normalized, distinct));
+	}
+
+	public int size() {
+		return words.size();
+	}
+
+	public String get(int index) {
+		return words.get(index);
+	}
+
+	/**
+	 * Finds the position of `word` in the sorted word list. Matching is case
+	 * insensitive, in O(word length) and without allocation.
+	 *
+	 * @param word The word to find.
+	 * @return The index of `word`, or -1 if not found.
+	 */
+	public int indexOf(CharSequence word) {
+		if (word == null) {
+			return -1;
+		}
+		if (filter == null) {
+			return table.indexOf(word);
+		}
+		if (!filter.mightContain(word)) {
+			return -1;
+		}
+		int index = table.indexOf(word);
+		if (index < 0) {
+			filter.falsePositive();
+		}
+		return index;
+	}
+
+	public boolean contains(CharSequence word) {
+		return indexOf(word) >= 0;
+	}
+
+	/**
+	 * @return The length of the longest word.
+	 */
+	public int maxLength() {
+		return index.maxLength();
+	}
+
+	/**
+	 * @return The memory held by the index of the words, in bytes: on heap, or
+	 *         memory-mapped for a {@link BinaryDictionary}.
+	 */
+	public long indexSizeInBytes() {
+		return index.sizeInBytes();
+	}
+
+	/**
+	 * Builds a {@link WordFilter} of the words, so that most words not in the
+	 * dictionary are rejected by {@link #indexOf(CharSequence)} without exact
+	 * lookup.
+	 *
+	 * @param falsePositiveRate The rate of words not in the dictionary still
+	 *                          looked up exactly, between 0 and 1 (exclusive).
+	 * @return A snapshot sharing the words and index of this one, with the
+	 *         filter.
+	 */
+	public Dictionary withFilter(double falsePositiveRate) {
+		return new Dictionary(this, WordFilter.build(words, falsePositiveRate));
+	}
+
+	/**
+	 * @return The filter checked before exact lookups, or null if none, see
+	 *         {@link #withFilter(double)}.
+	 */
+	public WordFilter filter() {
+		return filter;
+	}
+
+	/**
+	 * @param length The word length.
+	 * @return Read-only view of words of `length`, in sorted order.
+	 */
+	public List<String> wordsOfLength(int length) {
+		if (length < 0 || length > maxLength()) {
+			return Collections.emptyList();
+		}
+		return new SliceList.Builder(words, index.lengthOrder, 1)
+				.add(index.lengthStart.get(length), index.lengthStart.get(length + 1)).build();
+	}
+
+	/**
+	 * Finds words by first letter, last letter and length, any of them optional.
+	 * The result is a view over one or a union of pre-built buckets, ordered by
+	 * first letter, last letter, length, then alphabetically.
+	 *
+	 * @param startChar The first letter ('a' to 'z', case insensitive), or null
+	 *                  for any.
+	 * @param endChar   The last letter ('a' to 'z', case insensitive), or null for
+	 *                  any.
+	 * @param length    The word length, or null for any.
+	 * @return Read-only view of words matching all given criteria.
+	 */
+	public List<String> search(Character startChar, Character endChar, Integer length) {
+		int start = startChar == null ? -1 : Character.toLowerCase(startChar.charValue()) - 'a';
+		int end = endChar == null ? -1 : Character.toLowerCase(endChar.charValue()) - 'a';
+		if (start >= 26 || end >= 26 || (startChar != null && start < 0) || (endChar != null && end < 0)
+				|| (length != null && (length < 1 || length > maxLength()))) {
+			return Collections.emptyList();
+		}
+		if (start < 0 && end < 0) {
+			return length == null ? view : wordsOfLength(length);
+		}
+
+		int lengths = maxLength() + 1;
+		IntBuffer bucketStart = index.bucketStart;
+		SliceList.Builder slices = new SliceList.Builder(words, index.startEndOrder, 26);
+		if (start >= 0 && end >= 0) {
+			int key = DictionaryIndex.bucketKey(start, end, 0, maxLength());
+			if (length == null) {
+				slices.add(bucketStart.get(key), bucketStart.get(key + lengths));
+			} else {
+				slices.add(bucketStart.get(key + length), bucketStart.get(key + length + 1));
+			}
+		} else if (length == null && start >= 0) {
+			slices.add(bucketStart.get(DictionaryIndex.bucketKey(start, 0, 0, maxLength())),
+					bucketStart.get(DictionaryIndex.bucketKey(start + 1, 0, 0, maxLength())));
+		} else {
+			for (int other = 0; other < 26; other += 1) {
+				int key = DictionaryIndex.bucketKey(start >= 0 ? start : other, start >= 0 ? other : end, 0, maxLength());
+				if (length == null) {
+					slices.add(bucketStart.get(key), bucketStart.get(key + lengths));
+				} else {
+					slices.add(bucketStart.get(key + length), bucketStart.get(key + length + 1));
+				}
+			}
+		}
+		return slices.build();
+	}
+
+	/**
+	 * @return Read-only list of palindrome words (of 2 letters or more), in sorted
+	 *         order.
+	 */
+	public List<String> palindromes() {
+		return palindromes;
+	}
+
+	/**
+	 * @return Read-only list of words whose reverse is a different word in
+	 *         dictionary, in sorted order.
+	 */
+	public List<String> semordnilaps() {
+		return semordnilaps;
+	}
+
+	/**
+	 * Finds the words that can be spelled with the given letters, each letter
+	 * used at most as many times as it appears in `letters`, case insensitive.
+	 *
+	 * @param letters   The rack of letters.
+	 * @param minLength The minimum length (inclusive) of the words.
+	 * @return The words, sorted.
+	 */
+	public List<String> subWords(CharSequence letters, int minLength) {
+		return subWords(letters, minLength, null);
+	}
+
+	/**
+	 * Finds the words as {@link #subWords(CharSequence, int)}, the subtrees of
+	 * the search run in parallel by `pool`.
+	 *
+	 * @param letters   The rack of letters.
+	 * @param minLength The minimum length (inclusive) of the words.
+	 * @param pool      The pool running the search, or null to search on the
+	 *                  calling thread.
+	 * @return The words, sorted.
+	 */
+	public List<String> subWords(CharSequence letters, int minLength, ForkJoinPool pool) {
+		IntList matches = new IntList(16);
+		if (pool == null) {
+			anagrams.subWords(letters, minLength, matches);
+		} else {
+			anagrams.subWords(letters, minLength, pool, matches);
+		}
+		// merged from the subtrees in any order, sorted once
+		int[] sorted = matches.toSortedArray();
+		List<String> result = new ArrayList<>(sorted.length);
+		for (int match : sorted) {
+			result.add(words.get(match));
+		}
+		return result;
+	}
+
+	/**
+	 * Finds all words beginning with `prefix`, case insensitive. The words are
+	 * contiguous in the sorted word list, so the range is located by two binary
+	 * searches, in O(prefix length * log n), and returned as a view without
+	 * copying.
+	 *
+	 * @param prefix The prefix to match.
+	 * @return Read-only view of words matching the prefix, in sorted order.
+	 */
+	public List<String> wordsWithPrefix(CharSequence prefix) {
+		int from = prefixBound(null, 0, words.size(), prefix, false);
+		int to = prefixBound(null, from, words.size(), prefix, true);
+		return SliceList.range(words, from, to);
+	}
+
+	/**
+	 * Finds one page of the words beginning with `prefix`, case insensitive.
+	 * Only the page is visited: its start is located by binary search, in the
+	 * sorted word list or in each length of the words ordered by length, and the
+	 * traversal stops as soon as `limit` words are found.
+	 *
+	 * @param prefix   The prefix to match.
+	 * @param byLength true to order by length, then alphabetically. false for
+	 *                 alphabetically.
+	 * @param after    The last word of the previous page (in the same order), or
+	 *                 null for the first page.
+	 * @param limit    The maximum number of words.
+	 * @return Read-only view of the page of words.
+	 */
+	public List<String> wordsWithPrefix(CharSequence prefix, boolean byLength, CharSequence after, int limit) {
+		if (limit <= 0) {
+			return Collections.emptyList();
+		}
+		if (!byLength) {
+			int from = prefixBound(null, 0, words.size(), prefix, false);
+			int to = prefixBound(null, from, words.size(), prefix, true);
+			if (after != null) {
+				from = afterBound(null, from, to, after);
+			}
+			return SliceList.range(words, from, to - from <= limit ? to : from + limit);
+		}
+
+		int remaining = limit;
+		SliceList.Builder slices = new SliceList.Builder(words, index.lengthOrder, maxLength() + 1);
+		int length = Math.max(prefix.length(), after == null ? 0 : after.length());
+		for (; length <= maxLength() && remaining > 0; length += 1) {
+			int low = index.lengthStart.get(length);
+			int high = index.lengthStart.get(length + 1);
+			int from = prefixBound(index.lengthOrder, low, high, prefix, false);
+			int to = prefixBound(index.lengthOrder, from, high, prefix, true);
+			if (after != null && length == after.length()) {
+				from = afterBound(index.lengthOrder, from, to, after);
+			}
+			int count = Math.min(to - from, remaining);
+			slices.add(from, from + count);
+			remaining -= count;
+		}
+		return slices.build();
+	}
+
+	/**
+	 * @return Number of words beginning with `prefix`, case insensitive.
+	 */
+	public int countWithPrefix(CharSequence prefix) {
+		int from = prefixBound(null, 0, words.size(), prefix, false);
+		return prefixBound(null, from, words.size(), prefix, true) - from;
+	}
+
+	/*
+	 * Binary search in positions [low, high) of `ids` (or of the word list when
+	 * null), which must be in sorted order, for the first word ordered after
+	 * `prefix` (upper=false: first word ordered at or after it; upper=true: first
+	 * word after all words starting with it).
+	 */
+	private int prefixBound(IntBuffer ids, int low, int high, CharSequence prefix, boolean upper) {
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			int cmp = comparePrefix(ids == null ? mid : ids.get(mid), prefix);
+			if (cmp < 0 || (upper && cmp == 0)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/*
+	 * Binary search in positions [low, high) of `ids` (or of the word list when
+	 * null) for the first word ordered after `word`.
+	 */
+	private int afterBound(IntBuffer ids, int low, int high, CharSequence word) {
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (compareWord(ids == null ? mid : ids.get(mid), word) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/*
+	 * Compares `word` to `prefix` (folded to lower case) over the length of the
+	 * prefix: 0 when `word` starts with `prefix`.
+	 */
+	private int comparePrefix(int word, CharSequence prefix) {
+		int wordLength = words.length(word);
+		int length = Math.min(wordLength, prefix.length());
+		for (int ix = 0; ix < length; ix += 1) {
+			int diff = words.charAt(word, ix) - Character.toLowerCase(prefix.charAt(ix));
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return wordLength < prefix.length() ? -1 : 0;
+	}
+
+	/*
+	 * Compares `word` to `other` (folded to lower case), as String.compareTo.
+	 */
+	private int compareWord(int word, CharSequence other) {
+		int cmp = comparePrefix(word, other);
+		return cmp != 0 ? cmp : words.length(word) - other.length();
+	}
+
+	/**
+	 * Finds the words matching a glob-style `pattern`, case insensitive: `?`
+	 * matches one letter, `*` any run of letters. Only the words that can match
+	 * are visited: the ones of the pattern length (when it has no `*`) and
+	 * starting with its literal prefix, located by binary search, or else the
+	 * ones ending with its literal suffix, when fewer. In alphabetical order, the
+	 * traversal stops as soon as `limit` words are found.
+	 *
+	 * @param pattern The pattern, of letters, `?` and `*`.
+	 * @param limit   The maximum number of words.
+	 * @return Read-only list of the first `limit` words matching, in sorted order.
+	 * @throws IllegalArgumentException if the pattern is empty, or has other
+	 *                                  characters.
+	 */
+	public List<String> wordsMatching(CharSequence pattern, int limit) {
+		WordPattern glob = WordPattern.parse(pattern);
+		if (limit <= 0 || glob.minLength() > maxLength()) {
+			return Collections.emptyList();
+		}
+
+		// candidates by prefix, in alphabetical order: of one length, or all
+		IntBuffer ids = null;
+		int low = 0;
+		int high = words.size();
+		if (glob.maxLength() == glob.minLength()) {
+			ids = index.lengthOrder;
+			low = index.lengthStart.get(glob.minLength());
+			high = index.lengthStart.get(glob.minLength() + 1);
+		}
+		int from = prefixBound(ids, low, high, glob.prefix(), false);
+		int to = prefixBound(ids, from, high, glob.prefix(), true);
+
+		IntList matches = new IntList(Math.min(limit, 16));
+		if (!glob.suffix().isEmpty()) {
+			int suffixFrom = suffixBound(glob.suffix(), false);
+			int suffixTo = suffixBound(glob.suffix(), true);
+			if (suffixTo - suffixFrom < to - from) {
+				// not in alphabetical order: all visited, then sorted
+				for (int ix = suffixFrom; ix < suffixTo; ix += 1) {
+					int word = index.suffixOrder.get(ix);
+					if (glob.matches(words, word)) {
+						matches.add(word);
+					}
+				}
+				return toWords(matches.toSortedArray(), limit);
+			}
+		}
+		for (int ix = from; ix < to && matches.size() < limit; ix += 1) {
+			int word = ids == null ? ix : ids.get(ix);
+			if (glob.matches(words, word)) {
+				matches.add(word);
+			}
+		}
+		return toWords(matches.toSortedArray(), limit);
+	}
+
+	private List<String> toWords(int[] ids, int limit) {
+		String[] result = new String[Math.min(ids.length, limit)];
+		for (int ix = 0; ix < result.length; ix += 1) {
+			result[ix] = words.get(ids[ix]);
+		}
+		return Collections.unmodifiableList(Arrays.asList(result));
+	}
+
+	/**
+	 * Finds all words ending with `suffix`, case insensitive. Words are kept
+	 * ordered by their reversed spelling, so the matching range is located by
+	 * binary search and only the matches are visited.
+	 *
+	 * @param suffix The suffix to match.
+	 * @return Read-only list of words matching the suffix, in sorted order.
+	 */
+	public List<String> wordsWithSuffix(CharSequence suffix) {
+		int from = suffixBound(suffix, false);
+		int to = suffixBound(suffix, true);
+		int[] matches = new int[to - from];
+		for (int ix = 0; ix < matches.length; ix += 1) {
+			matches[ix] = index.suffixOrder.get(from + ix);
+		}
+		Arrays.sort(matches);
+		String[] result = new String[matches.length];
+		for (int ix = 0; ix < matches.length; ix += 1) {
+			result[ix] = words.get(matches[ix]);
+		}
+		return Collections.unmodifiableList(Arrays.asList(result));
+	}
+
+	/**
+	 * @return Number of words ending with `suffix`, case insensitive.
+	 */
+	public int countWithSuffix(CharSequence suffix) {
+		return suffixBound(suffix, true) - suffixBound(suffix, false);
+	}
+
+	private int suffixBound(CharSequence suffix, boolean upper) {
+		int low = 0;
+		int high = index.suffixOrder.limit();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			int cmp = compareSuffix(index.suffixOrder.get(mid), suffix);
+			if (cmp < 0 || (upper && cmp == 0)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/*
+	 * Compares `word` to `suffix` (folded to lower case) from the last character
+	 * backwards, over the length of the suffix: 0 when `word` ends with `suffix`.
+	 */
+	private int compareSuffix(int word, CharSequence suffix) {
+		int wordLength = words.length(word);
+		int suffixLength = suffix.length();
+		int length = Math.min(wordLength, suffixLength);
+		for (int ix = 1; ix <= length; ix += 1) {
+			int diff = words.charAt(word, wordLength - ix) - Character.toLowerCase(suffix.charAt(suffixLength - ix));
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return wordLength < suffixLength ? -1 : 0;
+	}
+
+	/**
+	 * @return Read-only view of all words, in sorted order.
+	 */
+	public List<String> words() {
+		return view;
+	}
+
+	@Override
+	public String toString() {
+		return "size=[" + words.size() + "]";
+	}
+
+}
@@ -0,0 +1,233 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import asia.fourtitude.interviewq.jumble.utils.StringUtils;
+
+/**
+ * The pre-computed index sections of a dictionary. All sections are arrays of
+ * word indexes (or offsets), so that they can be built on heap or read as-is
+ * from a memory-mapped dictionary file (see {@link BinaryDictionary}).
+ */
+final class DictionaryIndex {
+
+	/*
+	 * Slots of the open-addressing table over the words, see WordHashTable.
+	 */
+	final IntBuffer hashSlots;
+
+	/*
+	 * Word indexes, ordered by the reversed word (ie. "by suffix").
+	 */
+	final IntBuffer suffixOrder;
+
+	/*
+	 * Word indexes bucketed by length (then sorted), bucket of `length` is the
+	 * range [lengthStart[length], lengthStart[length + 1]) of lengthOrder.
+	 */
+	final IntBuffer lengthStart;
+
+	final IntBuffer lengthOrder;
+
+	/*
+	 * Indexes of words with first and last letter 'a' to 'z', ordered by (first
+	 * letter, last letter, length, word). The bucket of (first, last, length) is
+	 * the range [bucketStart[key], bucketStart[key + 1]) of startEndOrder, see
+	 * bucketKey().
+	 */
+	final IntBuffer bucketStart;
+
+	final IntBuffer startEndOrder;
+
+	/*
+	 * Distinct letter signatures (letters of word in sorted order), in sorted
+	 * order. Words of signature `ix` are the range [groupStart[ix],
+	 * groupStart[ix + 1]) of grouped.
+	 */
+	final WordStore signatures;
+
+	final IntBuffer groupStart;
+
+	final IntBuffer grouped;
+
+	final IntBuffer palindromes;
+
+	/*
+	 * Words whose reverse is another word in dictionary, eg. "stressed" and
+	 * "desserts".
+	 */
+	final IntBuffer semordnilaps;
+
+	DictionaryIndex(IntBuffer hashSlots, IntBuffer suffixOrder, IntBuffer lengthStart, IntBuffer lengthOrder,
+			IntBuffer bucketStart, IntBuffer startEndOrder, WordStore signatures, IntBuffer groupStart,
+			IntBuffer grouped, IntBuffer palindromes, IntBuffer semordnilaps) {
+		this.hashSlots = hashSlots;
+		this.suffixOrder = suffixOrder;
+		this.lengthStart = lengthStart;
+		this.lengthOrder = lengthOrder;
+		this.bucketStart = bucketStart;
+		this.startEndOrder = startEndOrder;
+		this.signatures = signatures;
+		this.groupStart = groupStart;
+		this.grouped = grouped;
+		this.palindromes = palindromes;
+		this.semordnilaps = semordnilaps;
+	}
+
+	int maxLength() {
+		return lengthStart.limit() - 2;
+	}
+
+	/*
+	 * Bytes held by the sections of word indexes (the words and the letter
+	 * signatures are not counted).
+	 */
+	long sizeInBytes() {
+		long ints = 0;
+		for (IntBuffer section : new IntBuffer[] { hashSlots, suffixOrder, lengthStart, lengthOrder, bucketStart,
+				startEndOrder, groupStart, grouped, palindromes, semordnilaps }) {
+			ints += section.limit();
+		}
+		return ints * Integer.BYTES;
+	}
+
+	static int bucketKey(int start, int end, int length, int maxLength) {
+		return (start * 26 + end) * (maxLength + 1) + length;
+	}
+
+	/**
+	 * Builds all the sections, in one go.
+	 *
+	 * @param words The sorted, distinct, lower-cased words.
+	 * @return The index.
+	 */
+	static DictionaryIndex build(String[] words) {
+		WordStore store = new ArrayWordStore(words);
+		int[] hashSlots = WordHashTable.slots(store);
+
+		Integer[] order = new Integer[words.length];
+		for (int ix = 0; ix < order.length; ix += 1) {
+			order[ix] = ix;
+		}
+		Arrays.sort(order, (a, b) -> compareReversed(words[a], words[b]));
+		int[] suffixOrder = new int[order.length];
+		for (int ix = 0; ix < order.length; ix += 1) {
+			suffixOrder[ix] = order[ix];
+		}
+
+		int maxLength = 0;
+		for (String word : words) {
+			maxLength = Math.max(maxLength, word.length());
+		}
+		int[] lengthStart = new int[maxLength + 2];
+		for (String word : words) {
+			lengthStart[word.length() + 1] += 1;
+		}
+		for (int length = 1; length < lengthStart.length; length += 1) {
+			lengthStart[length] += lengthStart[length - 1];
+		}
+		int[] lengthOrder = new int[words.length];
+		int[] next = Arrays.copyOf(lengthStart, lengthStart.length);
+		for (int ix = 0; ix < words.length; ix += 1) {
+			lengthOrder[next[words[ix].length()]++] = ix;
+		}
+
+		int[] bucketStart = new int[26 * 26 * (maxLength + 1) + 1];
+		int[] keys = new int[words.length];
+		int indexed = 0;
+		for (int ix = 0; ix < words.length; ix += 1) {
+			keys[ix] = bucketKey(words[ix], maxLength);
+			if (keys[ix] >= 0) {
+				bucketStart[keys[ix] + 1] += 1;
+				indexed += 1;
+			}
+		}
+		for (int key = 1; key < bucketStart.length; key += 1) {
+			bucketStart[key] += bucketStart[key - 1];
+		}
+		int[] startEndOrder = new int[indexed];
+		next = Arrays.copyOf(bucketStart, bucketStart.length);
+		for (int ix = 0; ix < words.length; ix += 1) {
+			if (keys[ix] >= 0) {
+				startEndOrder[next[keys[ix]]++] = ix;
+			}
+		}
+
+		String[] signatureOf = new String[words.length];
+		for (int ix = 0; ix < words.length; ix += 1) {
+			signatureOf[ix] = AnagramIndex.signature(words[ix]);
+			order[ix] = ix;
+		}
+		Arrays.sort(order, (a, b) -> {
+			int cmp = signatureOf[a].compareTo(signatureOf[b]);
+			return cmp != 0 ? cmp : Integer.compare(a, b);
+		});
+		List<String> signatures = new ArrayList<>();
+		int[] groupStart = new int[words.length + 1];
+		int[] grouped = new int[words.length];
+		for (int ix = 0; ix < order.length; ix += 1) {
+			String signature = signatureOf[order[ix]];
+			if (signatures.isEmpty() || !signatures.get(signatures.size() - 1).equals(signature)) {
+				groupStart[signatures.size()] = ix;
+				signatures.add(signature);
+			}
+			grouped[ix] = order[ix];
+		}
+		groupStart[signatures.size()] = words.length;
+		WordStore signatureStore = new ArrayWordStore(signatures.toArray(new String[0]));
+
+		WordHashTable table = new WordHashTable(store, IntBuffer.wrap(hashSlots));
+		int[] palindromes = new int[words.length];
+		int palindromeCount = 0;
+		int[] semordnilaps = new int[words.length];
+		int semordnilapCount = 0;
+		char[] reversed = new char[maxLength];
+		for (int ix = 0; ix < words.length; ix += 1) {
+			String word = words[ix];
+			if (StringUtils.isPalindrome(word)) {
+				palindromes[palindromeCount++] = ix;
+				continue;
+			}
+			int length = word.length();
+			for (int pos = 0; pos < length; pos += 1) {
+				reversed[pos] = word.charAt(length - 1 - pos);
+			}
+			if (table.indexOf(reversed, length) >= 0) {
+				semordnilaps[semordnilapCount++] = ix;
+			}
+		}
+
+		return new DictionaryIndex(IntBuffer.wrap(hashSlots), IntBuffer.wrap(suffixOrder),
+				IntBuffer.wrap(lengthStart), IntBuffer.wrap(lengthOrder), IntBuffer.wrap(bucketStart),
+				IntBuffer.wrap(startEndOrder), signatureStore, IntBuffer.wrap(Arrays.copyOf(groupStart,
+						signatures.size() + 1)), IntBuffer.wrap(grouped),
+				IntBuffer.wrap(Arrays.copyOf(palindromes, palindromeCount)),
+				IntBuffer.wrap(Arrays.copyOf(semordnilaps, semordnilapCount)));
+	}
+
+	private static int bucketKey(String word, int maxLength) {
+		int start = word.charAt(0) - 'a';
+		int end = word.charAt(word.length() - 1) - 'a';
+		if (start < 0 || start >= 26 || end < 0 || end >= 26) {
+			return -1;
+		}
+		return bucketKey(start, end, word.length(), maxLength);
+	}
+
+	private static int compareReversed(String a, String b) {
+		int aLength = a.length();
+		int bLength = b.length();
+		int length = Math.min(aLength, bLength);
+		for (int ix = 1; ix <= length; ix += 1) {
+			int diff = a.charAt(aLength - ix) - b.charAt(bLength - ix);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return aLength - bLength;
+	}
+
+}
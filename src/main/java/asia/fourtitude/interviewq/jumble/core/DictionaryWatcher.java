@@ -0,0 +1,167 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reloads the dictionary of a {@link JumbleEngine} when its file changes.
+ *
+ * The directory of the file is watched on a background thread. Once the file
+ * has been quiet for the debounce period, the new dictionary is built
+ * completely on that thread, then published with
+ * {@link JumbleEngine#setDictionary(Dictionary)}: queries never wait for a
+ * reload, and the ones in progress complete against the previous dictionary.
+ * When the file cannot be loaded, eg. it is being written, the previous
+ * dictionary is kept and the failure counted.
+ *
+ * A binary dictionary (see {@link BinaryDictionary}) is memory-mapped, so it
+ * must be replaced by moving a new file over it, never rewritten in place.
+ */
+public class DictionaryWatcher implements AutoCloseable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(DictionaryWatcher.class);
+
+	private final Path file;
+
+	private final Function<Path, Dictionary> loader;
+
+	private final JumbleEngine engine;
+
+	private final long debounceNanos;
+
+	private final WatchService watchService;
+
+	private final Thread thread;
+
+	private final LongAdder reloads = new LongAdder();
+
+	private final LongAdder failures = new LongAdder();
+
+	private volatile boolean closed;
+
+	/**
+	 * @param file     The dictionary file, in an existing directory.
+	 * @param loader   Loads the dictionary from the file, eg.
+	 *                 {@link BinaryDictionary#open(Path)}.
+	 * @param engine   The engine whose dictionary is replaced.
+	 * @param debounce How long the file must be left unchanged before reloading.
+	 */
+	public DictionaryWatcher(Path file, Function<Path, Dictionary> loader, JumbleEngine engine,
+			Duration debounce) {
+		this.file = Objects.requireNonNull(file, "file must not be null").toAbsolutePath();
+		this.loader = Objects.requireNonNull(loader, "loader must not be null");
+		this.engine = Objects.requireNonNull(engine, "engine must not be null");
+		if (debounce.isNegative()) {
+			throw new IllegalArgumentException("Invalid debounce=[" + debounce + "], expect 0 or greater");
+		}
+		this.debounceNanos = debounce.toNanos();
+		try {
+			this.watchService = FileSystems.getDefault().newWatchService();
+			this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot watch dictionary=[" + this.file + "]", e);
+		}
+		this.thread = new Thread(this::watch, "dictionary-watcher");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Loads the file and replaces the dictionary of the engine. Called by the
+	 * watcher thread on changes, may also be called directly.
+	 *
+	 * @return true if replaced, false if the file could not be loaded.
+	 */
+	public synchronized boolean reload() {
+		long start = System.nanoTime();
+		Dictionary dictionary;
+		try {
+			dictionary = loader.apply(file);
+		} catch (RuntimeException e) {
+			failures.increment();
+			LOG.warn("Cannot reload dictionary=[{}], keeping the previous one", file, e);
+			return false;
+		}
+		engine.setDictionary(dictionary);
+		reloads.increment();
+		LOG.info("Reloaded dictionary=[{}], words=[{}] in {}ms", file, dictionary.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		return true;
+	}
+
+	private void watch() {
+		try {
+			while (!closed) {
+				WatchKey key = watchService.take();
+				boolean changed = drain(key);
+				// wait for the writer to finish: every further change restarts the period
+				while (changed && debounceNanos > 0) {
+					key = watchService.poll(debounceNanos, TimeUnit.NANOSECONDS);
+					if (key == null) {
+						break;
+					}
+					drain(key);
+				}
+				if (changed && !closed) {
+					reload();
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// closed
+		}
+	}
+
+	/**
+	 * @return true if any of the events is about the dictionary file.
+	 */
+	private boolean drain(WatchKey key) {
+		boolean changed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW
+					|| file.getFileName().equals(event.context())) {
+				changed = true;
+			}
+		}
+		key.reset();
+		return changed;
+	}
+
+	public long getReloadCount() {
+		return reloads.sum();
+	}
+
+	public long getFailureCount() {
+		return failures.sum();
+	}
+
+	/**
+	 * Stops watching. The current dictionary stays in use.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			LOG.warn("Cannot close watcher of dictionary=[{}]", file, e);
+		}
+		thread.interrupt();
+	}
+
+}
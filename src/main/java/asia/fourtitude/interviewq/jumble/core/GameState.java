@@ -1,24 +1,111 @@
 package asia.fourtitude.interviewq.jumble.core;
 
-import java.util.ArrayList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.TreeMap;
-import java.util.TreeSet;
 
+/**
+ * State of one game: the word to guess, its scrambled letters, and which of
+ * the sub-words have been guessed.
+ *
+ * The sub-words are a sorted array shared by all games on the same letters
+ * (see {@link SubWordCache}), so each game only owns one bit per sub-word,
+ * the guessed words and the remaining counts per length. Guesses are looked up
+ * by binary search, and the guessed words are kept in display order as they
+ * arrive, so reading them costs nothing. Guesses with letters that are in none
+ * of the words are rejected up front, without the lock.
+ */
 public /* record */ class GameState {
 
+    private static final String[] EMPTY = new String[0];
+
+    private static final Comparator<String> BY_LENGTH_THEN_ALPHA = Comparator.comparingInt(String::length)
+            .thenComparing(Comparator.naturalOrder());
+
     private final String original;
 
     private String scramble;
 
-    private final Map<String, Boolean> subWords;
+    /*
+     * Sorted candidate words. Shared, never modified.
+     */
+    private final String[] words;
+
+    /*
+     * Index in words that is not a sub-word of this game (the original word
+     * itself), or -1.
+     */
+    private final int excluded;
+
+    /*
+     * Bit `ix` is set when words[ix] has been guessed.
+     */
+    private final long[] guessed;
+
+    /*
+     * Guessed words ordered by length then alphabetically. Replaced (copy on
+     * write) by each new correct guess, so readers get an immutable snapshot.
+     */
+    private String[] guessedWords = EMPTY;
 
+    /*
+     * Number of sub-words not guessed yet, per word length.
+     */
+    private final int[] remainingByLength;
+
+    /*
+     * Bit (c & 63) is set for each character c of the words, see mightContain().
+     */
+    private final long letters;
+
+    /**
+     * @param original The word to guess.
+     * @param scramble The scrambled letters of `original`.
+     * @param subWords The sub-words, with TRUE for the ones already guessed.
+     */
     public GameState(String original, String scramble, Map<String, Boolean> subWords) {
+        this(original, scramble, subWords.keySet().toArray(new String[0]), -1);
+        Arrays.sort(words);
+        for (int ix = 0; ix < words.length; ix += 1) {
+            if (subWords.get(words[ix]) == Boolean.TRUE) {
+                guess(ix);
+            }
+        }
+    }
+
+    /**
+     * @param words    The sorted, distinct candidate words, shared between games.
+     * @param excluded The index in `words` that is not a sub-word of this game,
+     *                 or -1.
+     */
+    GameState(String original, String scramble, String[] words, int excluded) {
         this.original = original;
         this.scramble = scramble;
-        this.subWords = subWords;
+        this.words = words;
+        this.excluded = excluded;
+        this.guessed = new long[(words.length + 63) >>> 6];
+        int maxLength = 0;
+        for (String word : words) {
+            maxLength = Math.max(maxLength, word.length());
+        }
+        this.remainingByLength = new int[maxLength + 1];
+        long letters = 0;
+        for (String word : words) {
+            letters |= letterMask(word);
+        }
+        this.letters = letters;
+        for (int ix = 0; ix < words.length; ix += 1) {
+            if (ix != excluded) {
+                remainingByLength[words[ix].length()] += 1;
+            }
+        }
     }
 
     public String getOriginal() {
@@ -33,50 +120,152 @@ public /* record */ class GameState {
         this.scramble = scramble;
     }
 
+    /**
+     * @return Read-only view of the sub-words, in sorted order, each mapped to
+     *         whether it has been guessed.
+     */
     public Map<String, Boolean> getSubWords() {
-        return subWords;
+        return new SubWordsView();
+    }
+
+    /**
+     * @return The number of sub-words.
+     */
+    public int getTotalWords() {
+        return excluded < 0 ? words.length : words.length - 1;
+    }
+
+    /**
+     * @return The number of distinct sub-words guessed.
+     */
+    public synchronized int getGuessedCount() {
+        return guessedWords.length;
+    }
+
+    /**
+     * @return The number of sub-words not guessed yet.
+     */
+    public synchronized int getRemainingWords() {
+        return getTotalWords() - guessedWords.length;
+    }
+
+    /**
+     * @param length The word length.
+     * @return The number of sub-words of `length` not guessed yet.
+     */
+    public synchronized int getRemainingWords(int length) {
+        return length < 0 || length >= remainingByLength.length ? 0 : remainingByLength[length];
     }
 
     public String getScrambleAsDisplay() {
-        List<String> list = new ArrayList<>();
-        for (char ch : this.scramble.toCharArray()) {
-            list.add(Character.toString(ch));
-        }
-        return String.join(" ", list);
-    }
-
-    public List<String> getGuessedWords() {
-        Map<Integer, Set<String>> guesseds = new TreeMap<>();
-        for (Map.Entry<String, Boolean> entry : this.subWords.entrySet()) {
-            if (entry.getValue() == Boolean.TRUE) {
-                String word = entry.getKey();
-                Integer len = word.length();
-                Set<String> words = guesseds.get(len);
-                if (words == null) {
-                    words = new TreeSet<>();
-                    guesseds.put(len, words);
-                }
-                words.add(word);
+        StringBuilder sb = new StringBuilder(scramble.length() * 2);
+        for (int ix = 0; ix < scramble.length(); ix += 1) {
+            sb.append(ix == 0 ? "" : " ").append(scramble.charAt(ix));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return Immutable snapshot of the guessed words, ordered by length, then
+     *         alphabetically.
+     */
+    public synchronized List<String> getGuessedWords() {
+        return Collections.unmodifiableList(Arrays.asList(guessedWords));
+    }
+
+    /**
+     * @param word The guessed word, case sensitive.
+     * @return true if `word` is one of the sub-words (guessed before or not).
+     */
+    public boolean updateGuessWord(String word) {
+        return guessWord(word).isCorrect();
+    }
+
+    /**
+     * @param word The guessed word, case sensitive.
+     * @return The outcome, telling a new guess from a repeated one.
+     */
+    public GuessOutcome guessWord(String word) {
+        if (!mightContain(word)) {
+            return GuessOutcome.INCORRECT;
+        }
+        synchronized (this) {
+            int index = indexOf(word);
+            if (index < 0) {
+                return GuessOutcome.INCORRECT;
             }
+            if (isGuessed(index)) {
+                return GuessOutcome.ALREADY_GUESSED;
+            }
+            guess(index);
+            return GuessOutcome.CORRECT;
         }
-        List<String> words = new ArrayList<>();
-        for (Map.Entry<Integer, Set<String>> entry : guesseds.entrySet()) {
-            for (String word : entry.getValue()) {
-                words.add(word);
+    }
+
+    /**
+     * Guesses several words at once, atomically: no other guess on this game
+     * interleaves with them.
+     *
+     * @param words The guessed words, case sensitive.
+     * @return The outcome of each word, in the same order.
+     */
+    public synchronized GuessOutcome[] updateGuessWords(List<String> words) {
+        GuessOutcome[] outcomes = new GuessOutcome[words.size()];
+        int ix = 0;
+        for (String word : words) {
+            int index = mightContain(word) ? indexOf(word) : -1;
+            if (index < 0) {
+                outcomes[ix] = GuessOutcome.INCORRECT;
+            } else if (isGuessed(index)) {
+                outcomes[ix] = GuessOutcome.ALREADY_GUESSED;
+            } else {
+                guess(index);
+                outcomes[ix] = GuessOutcome.CORRECT;
             }
+            ix += 1;
         }
-        return words;
+        return outcomes;
     }
 
-    public boolean updateGuessWord(String word) {
-        if (word == null) {
-            return false;
+    private void guess(int index) {
+        guessed[index >>> 6] |= 1L << index;
+        String word = words[index];
+        remainingByLength[word.length()] -= 1;
+
+        int position = -Arrays.binarySearch(guessedWords, word, BY_LENGTH_THEN_ALPHA) - 1;
+        String[] updated = new String[guessedWords.length + 1];
+        System.arraycopy(guessedWords, 0, updated, 0, position);
+        updated[position] = word;
+        System.arraycopy(guessedWords, position, updated, position + 1, guessedWords.length - position);
+        guessedWords = updated;
+    }
+
+    /**
+     * @return false if `word` is definitely not one of the words: too long, or
+     *         with a letter in none of them. Reads final fields only.
+     */
+    private boolean mightContain(String word) {
+        return word != null && word.length() < remainingByLength.length && (letterMask(word) & ~letters) == 0;
+    }
+
+    private static long letterMask(String word) {
+        long mask = 0;
+        for (int ix = 0; ix < word.length(); ix += 1) {
+            mask |= 1L << word.charAt(ix);
         }
-        if (this.subWords.containsKey(word)) {
-            this.subWords.put(word, Boolean.TRUE);
-            return true;
+        return mask;
+    }
+
+    private int indexOf(Object word) {
+        if (!(word instanceof String)) {
+            return -1;
         }
-        return false;
+        int index = Arrays.binarySearch(words, word);
+        return index == excluded ? -1 : index;
+    }
+
+    private boolean isGuessed(int index) {
+        return (guessed[index >>> 6] & (1L << index)) != 0;
     }
 
     @Override
@@ -88,10 +277,75 @@ public /* record */ class GameState {
         if (scramble != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("scramble=[").append(scramble).append(']');
         }
-        if (subWords != null) {
-            sb.append(sb.length() == 0 ? "" : ", ").append("subWords.size=[").append(subWords.size()).append(']');
-        }
+        sb.append(sb.length() == 0 ? "" : ", ").append("subWords.size=[").append(getTotalWords()).append(']');
         return sb.toString();
     }
 
+    private final class SubWordsView extends AbstractMap<String, Boolean> {
+
+        @Override
+        public int size() {
+            return getTotalWords();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Boolean get(Object key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return null;
+            }
+            synchronized (GameState.this) {
+                return isGuessed(index);
+            }
+        }
+
+        @Override
+        public Set<Map.Entry<String, Boolean>> entrySet() {
+            return new AbstractSet<Map.Entry<String, Boolean>>() {
+
+                @Override
+                public int size() {
+                    return getTotalWords();
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, Boolean>> iterator() {
+                    return new Iterator<Map.Entry<String, Boolean>>() {
+
+                        private int next = skipExcluded(0);
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < words.length;
+                        }
+
+                        @Override
+                        public Map.Entry<String, Boolean> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int index = next;
+                            next = skipExcluded(next + 1);
+                            synchronized (GameState.this) {
+                                return new AbstractMap.SimpleImmutableEntry<>(words[index], isGuessed(index));
+                            }
+                        }
+
+                    };
+                }
+
+            };
+        }
+
+        private int skipExcluded(int index) {
+            return index == excluded ? index + 1 : index;
+        }
+
+    }
+
 }
@@ -0,0 +1,285 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of ready-made game states, so that starting a new game does not pay for
+ * word selection and sub-word generation on the request thread.
+ *
+ * Game states are pooled per (length, minLength). Taking a state from a pool
+ * triggers a background refill of that pool up to the watermark. When a pool
+ * is empty, the state is created synchronously instead, and counted as a miss.
+ *
+ * Each pooled state is handed out once only, so the (mutable) states are never
+ * shared between games.
+ *
+ * Pooled states are tagged with the dictionary of the engine when they were
+ * built, and discarded instead of handed out once the dictionary has been
+ * replaced (see {@link JumbleEngine#setDictionary(Dictionary)}), as are the
+ * sub-word cache entries.
+ */
+public class GameStatePool implements AutoCloseable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(GameStatePool.class);
+
+	private final JumbleEngine engine;
+
+	private final int watermark;
+
+	private final ExecutorService executor;
+
+	private final Map<Key, Pool> pools = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder discarded = new LongAdder();
+
+	/**
+	 * @param engine    The engine creating the game states.
+	 * @param watermark The number of game states to keep ready, per (length,
+	 *                  minLength). 0 disables pooling.
+	 * @param threads   The number of background threads refilling the pools.
+	 */
+	public GameStatePool(JumbleEngine engine, int watermark, int threads) {
+		if (watermark < 0) {
+			throw new IllegalArgumentException("Invalid watermark=[" + watermark + "], expect 0 or greater");
+		}
+		if (threads <= 0) {
+			throw new IllegalArgumentException("Invalid threads=[" + threads + "], expect positive integer");
+		}
+		this.engine = engine;
+		this.watermark = watermark;
+		this.executor = Executors.newFixedThreadPool(threads, new DaemonThreadFactory());
+	}
+
+	/**
+	 * Takes a ready-made game state, or creates one synchronously when none is
+	 * ready. Either way, the pool is refilled in the background.
+	 *
+	 * @param length    The length of selected word, see
+	 *                  {@link JumbleEngine#createGameState(Integer, Integer)}.
+	 * @param minLength The minimum length (inclusive) of sub words.
+	 * @return The game state, not shared with any other caller.
+	 */
+	public GameState take(int length, int minLength) {
+		Pool pool = pool(length, minLength);
+		Dictionary dictionary = engine.getDictionary();
+		GameState state = null;
+		for (Entry entry; state == null && (entry = pool.states.poll()) != null;) {
+			pool.size.decrementAndGet();
+			if (entry.dictionary == dictionary) {
+				state = entry.state;
+			} else {
+				// built before the dictionary was replaced
+				discarded.increment();
+			}
+		}
+		if (state != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+			state = engine.createGameState(length, minLength);
+		}
+		refill(pool);
+		return state;
+	}
+
+	/**
+	 * Starts filling the pool of (length, minLength) in the background, eg. at
+	 * application start-up, so that the first games are served from the pool.
+	 */
+	public void prefill(int length, int minLength) {
+		refill(pool(length, minLength));
+	}
+
+	private Pool pool(int length, int minLength) {
+		return pools.computeIfAbsent(new Key(length, minLength), Pool::new);
+	}
+
+	private void refill(Pool pool) {
+		if (pool.size.get() >= watermark || !pool.refilling.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			executor.execute(() -> fill(pool));
+		} catch (RejectedExecutionException e) {
+			// closed
+			pool.refilling.set(false);
+		}
+	}
+
+	private void fill(Pool pool) {
+		boolean failed = false;
+		try {
+			while (pool.size.get() < watermark && !executor.isShutdown()) {
+				// read before building: replaced meanwhile, the state is discarded when taken
+				Dictionary dictionary = engine.getDictionary();
+				GameState state = engine.createGameState(pool.key.length, pool.key.minLength);
+				pool.states.offer(new Entry(dictionary, state));
+				pool.size.incrementAndGet();
+			}
+		} catch (RuntimeException e) {
+			failed = true;
+			LOG.warn("Cannot fill game pool of length=[{}], minLength=[{}]", pool.key.length, pool.key.minLength, e);
+		} finally {
+			pool.refilling.set(false);
+		}
+		if (!failed) {
+			// a take() after the loop, but before the reset, left its refill to this one
+			refill(pool);
+		}
+	}
+
+	/**
+	 * @return The number of game states taken from the pools.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return The number of game states created synchronously, because the pool
+	 *         was empty.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return The number of pooled game states discarded, because the dictionary
+	 *         was replaced after they were built.
+	 */
+	public long getDiscardedCount() {
+		return discarded.sum();
+	}
+
+	/**
+	 * @return The number of game states ready, over all pools.
+	 */
+	public int getReadyCount() {
+		int ready = 0;
+		for (Pool pool : pools.values()) {
+			ready += pool.size.get();
+		}
+		return ready;
+	}
+
+	/**
+	 * @return The number of game states ready in pool of (length, minLength).
+	 */
+	public int getReadyCount(int length, int minLength) {
+		Pool pool = pools.get(new Key(length, minLength));
+		return pool == null ? 0 : pool.size.get();
+	}
+
+	public int getWatermark() {
+		return watermark;
+	}
+
+	/**
+	 * Stops the background refills. Taking game states still works, falling back
+	 * to synchronous creation once the pools are empty.
+	 */
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+
+	@Override
+	public String toString() {
+		return "watermark=[" + watermark + "], ready=[" + getReadyCount() + "], hits=[" + getHitCount()
+				+ "], misses=[" + getMissCount() + "], discarded=[" + getDiscardedCount() + "]";
+	}
+
+	private static final class Key {
+
+		final int length;
+
+		final int minLength;
+
+		Key(int length, int minLength) {
+			this.length = length;
+			this.minLength = minLength;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return length == other.length && minLength == other.minLength;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * length + minLength;
+		}
+
+	}
+
+	private static final class Entry {
+
+		final Dictionary dictionary;
+
+		final GameState state;
+
+		Entry(Dictionary dictionary, GameState state) {
+			this.dictionary = dictionary;
+			this.state = state;
+		}
+
+	}
+
+	private static final class Pool {
+
+		final Key key;
+
+		final Queue<Entry> states = new ConcurrentLinkedQueue<>();
+
+		/*
+		 * Size of states, as ConcurrentLinkedQueue.size() is O(n).
+		 */
+		final AtomicInteger size = new AtomicInteger();
+
+		/*
+		 * Whether a fill task is queued or running, so that there is at most one
+		 * per pool.
+		 */
+		final AtomicBoolean refilling = new AtomicBoolean();
+
+		Pool(Key key) {
+			this.key = key;
+		}
+
+	}
+
+	private static final class DaemonThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "game-pool-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
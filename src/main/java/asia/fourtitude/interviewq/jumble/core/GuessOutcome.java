@@ -0,0 +1,30 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Outcome of guessing one word, see {@link GameState#updateGuessWords(java.util.List)}.
+ */
+public enum GuessOutcome {
+
+	/**
+	 * A sub-word, not guessed before.
+	 */
+	CORRECT,
+
+	/**
+	 * A sub-word, guessed before (or earlier in the same batch).
+	 */
+	ALREADY_GUESSED,
+
+	/**
+	 * Not a sub-word.
+	 */
+	INCORRECT;
+
+	/**
+	 * @return true if the word is one of the sub-words, guessed before or not.
+	 */
+	public boolean isCorrect() {
+		return this != INCORRECT;
+	}
+
+}
@@ -0,0 +1,46 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, to collect word indexes without boxing.
+ */
+final class IntList {
+
+	private int[] values;
+
+	private int size;
+
+	IntList(int capacity) {
+		this.values = new int[Math.max(1, capacity)];
+	}
+
+	void add(int value) {
+		if (size == values.length) {
+			values = Arrays.copyOf(values, size * 2);
+		}
+		values[size++] = value;
+	}
+
+	void addAll(IntList other) {
+		if (size + other.size > values.length) {
+			values = Arrays.copyOf(values, Math.max(size * 2, size + other.size));
+		}
+		System.arraycopy(other.values, 0, values, size, other.size);
+		size += other.size;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return The values, sorted ascending, as a new array.
+	 */
+	int[] toSortedArray() {
+		int[] sorted = Arrays.copyOf(values, size);
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+}
@@ -1,27 +1,105 @@
 package asia.fourtitude.interviewq.jumble.core;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.Objects;
-import java.util.Set;
-import java.util.TreeMap;
-import java.util.stream.Collectors;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.core.io.ClassPathResource;
 
 public class JumbleEngine {
 
+	/**
+	 * The most letters of a word to generate sub-words from. Longer racks are
+	 * rejected, rather than searched at a cost growing with their length.
+	 */
+	public static final int MAX_RACK_LENGTH = 32;
+
+	/*
+	 * Replaced as a whole by setDictionary(). Each call reads it once, so that it
+	 * runs against one snapshot even when replaced meanwhile.
+	 */
+	private volatile Dictionary dictionary;
+
+	private final SubWordCache subWordCache;
+
+	/*
+	 * Runs the sub-words of long racks in parallel, or null for none.
+	 */
+	private final SubWordExecutor subWordExecutor;
+
+	/**
+	 * Creates the engine on the bundled word list ("src/main/resources/words.txt").
+	 */
+	public JumbleEngine() {
+		this(Dictionary.load());
+	}
+
+	/**
+	 * Creates the engine on a shared, immutable dictionary snapshot.
+	 *
+	 * @param dictionary The dictionary snapshot, loaded once.
+	 */
+	public JumbleEngine(Dictionary dictionary) {
+		this(dictionary, new SubWordCache(SubWordCache.DEFAULT_CAPACITY));
+	}
+
+	/**
+	 * @param dictionary   The dictionary snapshot, loaded once.
+	 * @param subWordCache The cache of {@link #generateSubWords(String, Integer)}
+	 *                     results.
+	 */
+	public JumbleEngine(Dictionary dictionary, SubWordCache subWordCache) {
+		this(dictionary, subWordCache, null);
+	}
+
+	/**
+	 * @param dictionary      The dictionary snapshot, loaded once.
+	 * @param subWordCache    The cache of
+	 *                        {@link #generateSubWords(String, Integer)} results.
+	 * @param subWordExecutor The executor searching the sub-words of long racks
+	 *                        in parallel, or null to search all on the calling
+	 *                        thread.
+	 */
+	public JumbleEngine(Dictionary dictionary, SubWordCache subWordCache, SubWordExecutor subWordExecutor) {
+		this.dictionary = Objects.requireNonNull(dictionary, "dictionary must not be null");
+		this.subWordCache = Objects.requireNonNull(subWordCache, "subWordCache must not be null");
+		this.subWordExecutor = subWordExecutor;
+	}
+
+	public Dictionary getDictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * Replaces the dictionary, eg. when the word list is reloaded. Calls in
+	 * progress complete against the previous dictionary, and existing game
+	 * states keep their own sub-words.
+	 *
+	 * @param dictionary The new dictionary snapshot, fully built.
+	 */
+	public void setDictionary(Dictionary dictionary) {
+		this.dictionary = Objects.requireNonNull(dictionary, "dictionary must not be null");
+		// entries of the previous dictionary are not served anyway, only freed
+		this.subWordCache.clear();
+	}
+
+	public SubWordCache getSubWordCache() {
+		return subWordCache;
+	}
+
+	/**
+	 * @return The executor of long racks, or null if none.
+	 */
+	public SubWordExecutor getSubWordExecutor() {
+		return subWordExecutor;
+	}
+
 	/**
 	 * From the input `word`, produces/generates a copy which has the same letters,
 	 * but in different ordering.
@@ -31,28 +109,79 @@ public class JumbleEngine {
 	 * Evaluation/Grading: a) pass unit test: JumbleEngineTest#scramble() b)
 	 * scrambled letters/output must not be the same as input
 	 *
+	 * A word without any other arrangement (a single letter, or the same letter
+	 * repeated, eg. "aaa") is returned as is.
+	 *
 	 * @param word The input word to scramble the letters.
 	 * @return The scrambled output/letters.
 	 */
 	public String scramble(String word) {
-		/*
-		 * Refer to the method's Javadoc (above) and implement accordingly. Must pass
-		 * the corresponding unit tests.
-		 */
-
 		if (StringUtils.isBlank(word))
 			throw new IllegalArgumentException("Input word cannot be NULL, blank or empty !");
 
-		List<String> letters = Arrays.asList(word.split(""));
+		char[] letters = new char[word.length()];
+		scramble(word, letters, ThreadLocalRandom.current());
+		return new String(letters);
+	}
 
-		if(letters.size() == 1)
-			return word;
-		
-		while (asia.fourtitude.interviewq.jumble.utils.StringUtils.listToString(letters).equals(word)) {
-			Collections.shuffle(letters);
+	/**
+	 * Scrambles each of `words`, as {@link #scramble(String)}, sharing one letter
+	 * buffer across the words.
+	 *
+	 * @param words The input words to scramble the letters.
+	 * @return The scrambled output/letters, in the order of `words`.
+	 */
+	public List<String> scrambleAll(Collection<String> words) {
+		int maxLength = 0;
+		for (String word : words) {
+			if (StringUtils.isBlank(word))
+				throw new IllegalArgumentException("Input word cannot be NULL, blank or empty !");
+			maxLength = Math.max(maxLength, word.length());
 		}
 
-		return asia.fourtitude.interviewq.jumble.utils.StringUtils.listToString(letters);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		char[] letters = new char[maxLength];
+		List<String> scrambled = new ArrayList<>(words.size());
+		for (String word : words) {
+			scramble(word, letters, random);
+			scrambled.add(new String(letters, 0, word.length()));
+		}
+		return scrambled;
+	}
+
+	/*
+	 * Copies `word` into `letters` and shuffles it in place (Fisher-Yates), until
+	 * the arrangement differs from `word`. After a few unlucky shuffles (likely
+	 * only for 2 or 3 letters), swaps the first letter with a different one, so
+	 * the result always differs when some other arrangement exists.
+	 */
+	private static void scramble(String word, char[] letters, ThreadLocalRandom random) {
+		int length = word.length();
+		word.getChars(0, length, letters, 0);
+		int other = 1;
+		while (other < length && letters[other] == letters[0]) {
+			other += 1;
+		}
+		if (other == length) {
+			// single letter, or same letter repeated: no other arrangement
+			return;
+		}
+
+		for (int attempt = 0; attempt < 8; attempt += 1) {
+			for (int ix = length - 1; ix > 0; ix -= 1) {
+				int jx = random.nextInt(ix + 1);
+				char letter = letters[ix];
+				letters[ix] = letters[jx];
+				letters[jx] = letter;
+			}
+			for (int ix = 0; ix < length; ix += 1) {
+				if (letters[ix] != word.charAt(ix)) {
+					return;
+				}
+			}
+		}
+		letters[0] = word.charAt(other);
+		letters[other] = word.charAt(0);
 	}
 
 	/**
@@ -75,12 +204,19 @@ public class JumbleEngine {
 		 * Refer to the method's Javadoc (above) and implement accordingly. Must pass
 		 * the corresponding unit tests.
 		 */
-		List<String> dictionary = retrieveDictionary();
-		List<String> collection = dictionary.stream()
-				.filter((word) -> asia.fourtitude.interviewq.jumble.utils.StringUtils.isPalindrome(word))
-				.collect(Collectors.toList());
+		return this.dictionary.palindromes();
+	}
 
-		return collection;
+	/**
+	 * Retrieves the words from the internal word list whose reverse is a
+	 * different word in the word list (semordnilap).
+	 *
+	 * Examples: "stressed" and "desserts", "live" and "evil".
+	 *
+	 * @return The list of semordnilap words found in system/engine.
+	 */
+	public Collection<String> retrieveSemordnilapWords() {
+		return this.dictionary.semordnilaps();
 	}
 
 	/**
@@ -90,19 +226,34 @@ public class JumbleEngine {
 	 * provide a good enough implementation, if not able to provide a fast lookup c)
 	 * bonus points, if able to implement a fast lookup/scheme
 	 *
-	 * @param length The word picked, must of length.
+	 * @param length The word picked, must of length. Any length if null.
 	 * @return One of the word (randomly) from word list. Or null if none matching.
 	 */
 	public String pickOneRandomWord(Integer length) {
-		List<String> dictionary = retrieveDictionary();
-		dictionary = dictionary.stream().filter((word) -> word.length() == length).collect(Collectors.toList());
-
-		if (dictionary.isEmpty())
+		Dictionary dictionary = this.dictionary;
+		List<String> words = length == null ? dictionary.words() : dictionary.wordsOfLength(length);
+		if (words.isEmpty())
 			return null;
 
-		Collections.shuffle(dictionary);
+		return words.get(ThreadLocalRandom.current().nextInt(words.size()));
+	}
 
-		return dictionary.get(0);
+	/**
+	 * Picks one word randomly from internal word list, using the given `random`
+	 * so that the picks can be reproduced from a seed.
+	 *
+	 * @param length The word picked, must of length. Any length if null.
+	 * @param random The source of randomness, not shared between threads.
+	 * @return One of the word (randomly) from word list. Or null if none matching.
+	 */
+	public String pickOneRandomWord(Integer length, SplittableRandom random) {
+		Objects.requireNonNull(random, "random must not be null");
+		Dictionary dictionary = this.dictionary;
+		List<String> words = length == null ? dictionary.words() : dictionary.wordsOfLength(length);
+		if (words.isEmpty())
+			return null;
+
+		return words.get(random.nextInt(words.size()));
 	}
 
 	/**
@@ -117,8 +268,7 @@ public class JumbleEngine {
 	 * @return true if `word` exists in internal word list.
 	 */
 	public boolean exists(String word) {
-		List<String> dictionary = retrieveDictionary();
-		return dictionary.stream().filter((w) -> w.equalsIgnoreCase(word)).count() > 0;
+		return this.dictionary.contains(word);
 	}
 
 	/**
@@ -136,21 +286,109 @@ public class JumbleEngine {
 	 * @return The list of words matching the prefix.
 	 */
 	public Collection<String> wordsMatchingPrefix(String prefix) {
-		if (StringUtils.isBlank(prefix) || StringUtils.isNumeric(prefix))
-			return null;
+		if (!StringUtils.isAlpha(prefix))
+			return Collections.emptyList();
+
+		return this.dictionary.wordsWithPrefix(prefix);
+	}
 
-		List<String> dictionary = retrieveDictionary();
-		return dictionary.stream().filter((word) -> word.toLowerCase().startsWith(prefix.toLowerCase()))
-				.collect(Collectors.toList());
+	/**
+	 * Finds one page of the words which begins with the input `prefix`, for
+	 * autocomplete. Matching is case insensitive. The words after the page are
+	 * not visited.
+	 *
+	 * Invalid `prefix` (null, empty string, blank string, non letter) will return
+	 * empty list.
+	 *
+	 * @param prefix The prefix to match.
+	 * @param order  The order of the words.
+	 * @param after  The last word of the previous page, or null for the first
+	 *               page.
+	 * @param limit  The maximum number of words.
+	 * @return The page of words matching the prefix.
+	 */
+	public List<String> wordsMatchingPrefix(String prefix, WordOrder order, String after, int limit) {
+		if (!StringUtils.isAlpha(prefix))
+			return Collections.emptyList();
+
+		return this.dictionary.wordsWithPrefix(prefix, order == WordOrder.LENGTH, after, limit);
 	}
 
+	/**
+	 * Counts the words from internal word list which begins with the input
+	 * `prefix`, without building the list of words.
+	 *
+	 * @param prefix The prefix to match.
+	 * @return The number of words matching the prefix.
+	 */
+	public int countWordsMatchingPrefix(String prefix) {
+		if (!StringUtils.isAlpha(prefix))
+			return 0;
+
+		return this.dictionary.countWithPrefix(prefix);
+	}
+
+	/**
+	 * Finds all the words from internal word list which ends with the input
+	 * `suffix`. Matching is case insensitive.
+	 *
+	 * Invalid `suffix` (null, empty string, blank string, non letter) will return
+	 * empty list.
+	 *
+	 * @param suffix The suffix to match.
+	 * @return The list of words matching the suffix.
+	 */
 	public Collection<String> wordsMatchingSuffix(String suffix) {
-		if (StringUtils.isBlank(suffix) || StringUtils.isNumeric(suffix))
-			return null;
+		if (!StringUtils.isAlpha(suffix))
+			return Collections.emptyList();
+
+		return this.dictionary.wordsWithSuffix(suffix);
+	}
+
+	/**
+	 * Counts the words from internal word list which ends with the input
+	 * `suffix`, without building the list of words.
+	 *
+	 * @param suffix The suffix to match.
+	 * @return The number of words matching the suffix.
+	 */
+	public int countWordsMatchingSuffix(String suffix) {
+		if (!StringUtils.isAlpha(suffix))
+			return 0;
+
+		return this.dictionary.countWithSuffix(suffix);
+	}
 
-		List<String> dictionary = retrieveDictionary();
-		return dictionary.stream().filter((word) -> word.toLowerCase().endsWith(suffix.toLowerCase()))
-				.collect(Collectors.toList());
+	/**
+	 * Finds the words matching a glob-style `pattern`: `?` matches one letter and
+	 * `*` any run of letters, eg. "a?p*e" matches "apple" and "ample". Matching
+	 * is case insensitive. Only the words sharing the literal prefix or suffix of
+	 * the pattern are visited, and the search stops at `limit` words.
+	 *
+	 * Invalid `pattern` (null, empty string, other than letters, '?' and '*')
+	 * will return empty list.
+	 *
+	 * @param pattern The pattern to match.
+	 * @param limit   The maximum number of words.
+	 * @return The first `limit` words matching, in sorted order.
+	 */
+	public List<String> wordsMatchingPattern(String pattern, int limit) {
+		if (!isPattern(pattern))
+			return Collections.emptyList();
+
+		return this.dictionary.wordsMatching(pattern, limit);
+	}
+
+	private static boolean isPattern(String pattern) {
+		if (StringUtils.isEmpty(pattern))
+			return false;
+
+		for (int ix = 0; ix < pattern.length(); ix += 1) {
+			char c = pattern.charAt(ix);
+			if (c != '?' && c != '*' && !Character.isLetter(c))
+				return false;
+		}
+		return true;
 	}
 
 	/**
@@ -164,7 +402,11 @@ public class JumbleEngine {
 	 * on the result, to produce the final output.
 	 *
 	 * Must have at least one valid value out of 3 inputs (`startChar`, `endChar`,
-	 * `length`) to proceed with searching. Otherwise, return empty list.
+	 * `length`) to proceed with searching. Otherwise, return empty list. An
+	 * invalid value matches no word, so also returns empty list.
+	 *
+	 * The words are ordered by first letter, last letter, length, then
+	 * alphabetically.
 	 *
 	 * Evaluation/Grading: a) pass related unit tests in "JumbleEngineTest" b)
 	 * provide a good enough implementation, if not able to provide a fast lookup c)
@@ -176,39 +418,10 @@ public class JumbleEngine {
 	 * @return The list of words matching the searching criteria.
 	 */
 	public Collection<String> searchWords(Character startChar, Character endChar, Integer length) {
-		if (startChar != null && !String.valueOf(startChar).matches("(?i)^[a-z]$"))
-			throw new IllegalArgumentException("Invalid startChar input.");
-
-		if (endChar != null && !String.valueOf(endChar).matches("(?i)^[a-z]$"))
-			throw new IllegalArgumentException("Invalid endChar input.");
-
-		if (startChar == null && endChar == null)
-			throw new IllegalArgumentException("startChar or endChar input cannot be NULL.");
-
-		if (length != null && length <= 0)
-			throw new IllegalArgumentException("Invalid length, must be more than zero.");
-
-		List<String> dictionary = retrieveDictionary();
-
-		List<String> result = new ArrayList<String>();
-
-		if (!dictionary.isEmpty() && startChar != null) {
-			result = dictionary.stream()
-					.filter((word) -> (word.toLowerCase().startsWith(String.valueOf(startChar).toLowerCase())))
-					.collect(Collectors.toList());
-		}
-
-		if (!result.isEmpty() && endChar != null) {
-			result = result.stream()
-					.filter((word) -> (word.toLowerCase().endsWith(String.valueOf(endChar).toLowerCase())))
-					.collect(Collectors.toList());
-		}
+		if (startChar == null && endChar == null && length == null)
+			return Collections.emptyList();
 
-		if (!result.isEmpty() && length != null) {
-			result = result.stream().filter((word) -> (word.length() == length)).collect(Collectors.toList());
-		}
-
-		return result;
+		return this.dictionary.search(startChar, endChar, length);
 	}
 
 	/**
@@ -219,6 +432,10 @@ public class JumbleEngine {
 	 * acceptable word.
 	 *
 	 * If length of input `word` is less than `minLength`, then return empty list.
+	 * A `word` longer than {@link #MAX_RACK_LENGTH} letters is rejected.
+	 *
+	 * Each letter of `word` is used at most once per sub word. The input `word`
+	 * itself is not a sub word, but its anagrams are.
 	 *
 	 * Example: From "yellow" and `minLength` = 3, the output sub words: low, lowly,
 	 * lye, ole, owe, owl, well, welly, woe, yell, yeow, yew, yowl
@@ -231,6 +448,8 @@ public class JumbleEngine {
 	 * @param minLength The minimum length (inclusive) of sub words. Expects
 	 *                  positive integer. Default is 3.
 	 * @return The list of sub words constructed from input `word`.
+	 * @throws IllegalArgumentException If `word` is longer than
+	 *                                  {@link #MAX_RACK_LENGTH} letters.
 	 */
 	public Collection<String> generateSubWords(String word, Integer minLength) {
 		final int length = minLength == null ? 3 : minLength;
@@ -240,59 +459,20 @@ public class JumbleEngine {
 			return new ArrayList<String>();
 
 		word = word.trim();
-
-		List<String> letters = Arrays.asList(word.split(""));
-		Set<String> wordCollection = new HashSet<String>();
-
-		// search by any start/end letter
-		for (String letterA : letters) {
-			for (String letterB : letters) {
-				wordCollection.addAll(searchWords(letterA.toCharArray()[0], null, null));
-				wordCollection.addAll(searchWords(null, letterA.toCharArray()[0], null));
-				wordCollection.addAll(searchWords(letterB.toCharArray()[0], null, null));
-				wordCollection.addAll(searchWords(null, letterB.toCharArray()[0], null));
-				wordCollection.addAll(searchWords(letterA.toCharArray()[0], letterA.toCharArray()[0], null));
-				wordCollection.addAll(searchWords(letterB.toCharArray()[0], letterB.toCharArray()[0], null));
-				wordCollection.addAll(searchWords(letterA.toCharArray()[0], letterB.toCharArray()[0], null));
-				wordCollection.addAll(searchWords(letterB.toCharArray()[0], letterA.toCharArray()[0], null));
-			}
-		}
-
-		// search by prefix
-		for (int i = 0; i < letters.size(); i++) {
-			String prefix = "";
-
-			if (i == 0) {
-				prefix = letters.get(i);
-			} else {
-				for (int j = 0; j < i + 1; j++) {
-					prefix += letters.get(j);
-				}
-			}
-
-			wordCollection.addAll(wordsMatchingPrefix(prefix));
+		if (word.length() > MAX_RACK_LENGTH) {
+			throw new IllegalArgumentException(
+					"Invalid word length=[" + word.length() + "], expect at most " + MAX_RACK_LENGTH);
 		}
 
-		// search by suffix
-		for (int i = 0; i < letters.size(); i++) {
-			String suffix = "";
-
-			if (i == 0) {
-				suffix = letters.get(i);
-			} else {
-				for (int j = 0; j < i + 1; j++) {
-					suffix += letters.get(j);
-				}
+		String original = word.toLowerCase(Locale.ROOT);
+		String[] cached = this.subWordCache.subWords(this.dictionary, word, length, this.subWordExecutor);
+		List<String> subWords = new ArrayList<>(cached.length);
+		for (String subWord : cached) {
+			if (!subWord.equals(original)) {
+				subWords.add(subWord);
 			}
-
-			wordCollection.addAll(wordsMatchingSuffix(suffix));
 		}
-
-		List<String> collection = wordCollection.stream().filter((w) -> w.length() >= length)
-				.sorted()
-				.collect(Collectors.toList());
-
-		return collection;
+		return subWords;
 	}
 
 	/**
@@ -321,39 +501,19 @@ public class JumbleEngine {
 			throw new IllegalArgumentException(
 					"Expect minLength=[" + minLength + "] greater than length=[" + length + "]");
 		}
-		String original = this.pickOneRandomWord(length);
-		if (original == null) {
+		// not through the public methods, which subclasses may decorate
+		Dictionary dictionary = this.dictionary;
+		List<String> candidates = dictionary.wordsOfLength(length);
+		if (candidates.isEmpty()) {
 			throw new IllegalArgumentException("Cannot find valid word to create game state");
 		}
-		String scramble = this.scramble(original);
-		Map<String, Boolean> subWords = new TreeMap<>();
-		for (String subWord : this.generateSubWords(original, minLength)) {
-			subWords.put(subWord, Boolean.FALSE);
-		}
-		return new GameState(original, scramble, subWords);
-	}
-
-	private List<String> retrieveDictionary() {
-		List<String> dictionary = new ArrayList<>();
-
-		BufferedReader reader;
-
-		try {
-			ClassPathResource resource = new ClassPathResource("words.txt");
-			InputStream inputStream = resource.getInputStream();
-			reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
-			String line = reader.readLine();
-
-			while (line != null) {
-				dictionary.add(line);
-				line = reader.readLine();
-			}
-
-			reader.close();
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-
-		return dictionary;
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		String original = candidates.get(random.nextInt(candidates.size()));
+		char[] letters = new char[original.length()];
+		scramble(original, letters, random);
+		String scramble = new String(letters);
+		String[] words = this.subWordCache.subWords(dictionary, original, minLength, this.subWordExecutor);
+		int excluded = Arrays.binarySearch(words, original.toLowerCase(Locale.ROOT));
+		return new GameState(original, scramble, words, Math.max(-1, excluded));
 	}
 }
@@ -0,0 +1,64 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Words read in place from a memory-mapped region of length-prefixed UTF-8
+ * entries (unsigned 16-bit byte length, then the bytes). A word only becomes a
+ * String when {@link #get(int)} is called.
+ *
+ * When the region is all ASCII, characters are read directly from the bytes.
+ * Otherwise each access decodes the word.
+ */
+final class MappedWordStore implements WordStore {
+
+	private final ByteBuffer region;
+
+	/*
+	 * Position of each entry (its length prefix) in region.
+	 */
+	private final IntBuffer offsets;
+
+	private final boolean ascii;
+
+	MappedWordStore(ByteBuffer region, IntBuffer offsets, boolean ascii) {
+		this.region = region;
+		this.offsets = offsets;
+		this.ascii = ascii;
+	}
+
+	@Override
+	public int size() {
+		return offsets.limit();
+	}
+
+	@Override
+	public int length(int index) {
+		if (ascii) {
+			return region.getShort(offsets.get(index)) & 0xFFFF;
+		}
+		return get(index).length();
+	}
+
+	@Override
+	public char charAt(int index, int pos) {
+		if (ascii) {
+			return (char) region.get(offsets.get(index) + 2 + pos);
+		}
+		return get(index).charAt(pos);
+	}
+
+	@Override
+	public String get(int index) {
+		int offset = offsets.get(index);
+		byte[] bytes = new byte[region.getShort(offset) & 0xFFFF];
+		ByteBuffer entry = region.duplicate();
+		((Buffer) entry).position(offset + 2);
+		entry.get(bytes);
+		return new String(bytes, ascii ? StandardCharsets.US_ASCII : StandardCharsets.UTF_8);
+	}
+
+}
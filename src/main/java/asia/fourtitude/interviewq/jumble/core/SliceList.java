@@ -0,0 +1,115 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list over the union of ranges ("slices") of a shared index array.
+ * Nothing is copied: the list only keeps the slice bounds, and each element is
+ * read from the word store when accessed.
+ */
+final class SliceList extends AbstractList<String> implements RandomAccess {
+
+	private final WordStore words;
+
+	/*
+	 * Word indexes the slices refer to, or null when slices are directly ranges
+	 * of word indexes.
+	 */
+	private final IntBuffer ids;
+
+	private final int[] froms;
+
+	/*
+	 * ends[ix] is the list size after slice `ix`.
+	 */
+	private final int[] ends;
+
+	private final int count;
+
+	private SliceList(WordStore words, IntBuffer ids, int[] froms, int[] ends, int count) {
+		this.words = words;
+		this.ids = ids;
+		this.froms = froms;
+		this.ends = ends;
+		this.count = count;
+	}
+
+	/**
+	 * @return List of words at indexes [from, to) of `words`.
+	 */
+	static SliceList range(WordStore words, int from, int to) {
+		return new Builder(words, null, 1).add(from, to).build();
+	}
+
+	/**
+	 * @return List of words at indexes `ids`, in order.
+	 */
+	static SliceList of(WordStore words, IntBuffer ids) {
+		return new Builder(words, ids, 1).add(0, ids.limit()).build();
+	}
+
+	/**
+	 * Builder for a union of slices, in order of adding.
+	 */
+	static final class Builder {
+
+		private final WordStore words;
+
+		private final IntBuffer ids;
+
+		private final int[] froms;
+
+		private final int[] ends;
+
+		private int count;
+
+		Builder(WordStore words, IntBuffer ids, int maxSlices) {
+			this.words = words;
+			this.ids = ids;
+			this.froms = new int[maxSlices];
+			this.ends = new int[maxSlices];
+		}
+
+		Builder add(int from, int to) {
+			if (from < to) {
+				int size = count == 0 ? 0 : ends[count - 1];
+				froms[count] = from;
+				ends[count] = size + (to - from);
+				count += 1;
+			}
+			return this;
+		}
+
+		SliceList build() {
+			return new SliceList(words, ids, froms, ends, count);
+		}
+
+	}
+
+	@Override
+	public String get(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException("index=[" + index + "], size=[" + size() + "]");
+		}
+		int slice = 0;
+		int high = count - 1;
+		while (slice < high) {
+			int mid = (slice + high) >>> 1;
+			if (ends[mid] <= index) {
+				slice = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		int position = froms[slice] + index - (slice == 0 ? 0 : ends[slice - 1]);
+		return words.get(ids == null ? position : ids.get(position));
+	}
+
+	@Override
+	public int size() {
+		return count == 0 ? 0 : ends[count - 1];
+	}
+
+}
@@ -0,0 +1,208 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded, least-recently-used cache of sub-word results.
+ *
+ * All anagrams of the same letters have the same sub-words, so results are
+ * keyed by letter signature: "listen", "silent" and "tinsel" share one entry.
+ * An entry also serves longer minimum lengths than it was computed for, by
+ * leaving out the shorter words, so varying minLength does not defeat the
+ * cache. The cache is split into segments, each one an access-ordered map
+ * under its own lock, so that concurrent callers rarely contend. Results are
+ * computed outside the lock.
+ *
+ * Each entry remembers the dictionary it was computed from, and is only served
+ * for that dictionary: a caller still on a replaced dictionary, and one on its
+ * replacement, never see each other's results.
+ */
+public final class SubWordCache {
+
+	/**
+	 * Default number of entries, when not configured.
+	 */
+	public static final int DEFAULT_CAPACITY = 10_000;
+
+	private static final int SEGMENTS = 16;
+
+	private final int capacity;
+
+	private final Segment[] segments;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param capacity The maximum number of entries. 0 disables caching.
+	 */
+	public SubWordCache(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Invalid capacity=[" + capacity + "], expect 0 or greater");
+		}
+		this.capacity = capacity;
+		int count = capacity < SEGMENTS * 4 ? 1 : SEGMENTS;
+		this.segments = new Segment[count];
+		for (int ix = 0; ix < count; ix += 1) {
+			// spread the capacity, without exceeding it in total
+			segments[ix] = new Segment(capacity / count + (ix < capacity % count ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Finds the sub-words of `letters` in `dictionary`, from cache when possible.
+	 *
+	 * @param dictionary The dictionary, see
+	 *                   {@link Dictionary#subWords(CharSequence, int)}.
+	 * @param letters    The rack of letters.
+	 * @param minLength  The minimum length (inclusive) of the words.
+	 * @return The words, sorted. Shared, must not be modified.
+	 */
+	String[] subWords(Dictionary dictionary, CharSequence letters, int minLength) {
+		return subWords(dictionary, letters, minLength, null);
+	}
+
+	/**
+	 * Finds the sub-words as {@link #subWords(Dictionary, CharSequence, int)},
+	 * computed in parallel by `executor` on a miss for a long rack.
+	 *
+	 * @param executor The executor of long racks, or null to compute on the
+	 *                 calling thread.
+	 */
+	String[] subWords(Dictionary dictionary, CharSequence letters, int minLength, SubWordExecutor executor) {
+		String signature = AnagramIndex.signature(letters);
+		if (capacity == 0) {
+			misses.increment();
+			return compute(dictionary, signature, minLength, executor);
+		}
+		Segment segment = segments[(signature.hashCode() & 0x7FFFFFFF) % segments.length];
+		Entry entry;
+		synchronized (segment) {
+			entry = segment.get(signature);
+		}
+		if (entry != null && entry.dictionary == dictionary && entry.minLength <= minLength) {
+			hits.increment();
+			return entry.minLength == minLength ? entry.words : atLeast(entry.words, minLength);
+		}
+		misses.increment();
+		String[] words = compute(dictionary, signature, minLength, executor);
+		synchronized (segment) {
+			segment.put(signature, new Entry(dictionary, minLength, words));
+		}
+		return words;
+	}
+
+	private static String[] atLeast(String[] words, int minLength) {
+		int count = 0;
+		for (String word : words) {
+			if (word.length() >= minLength) {
+				count += 1;
+			}
+		}
+		String[] longer = new String[count];
+		count = 0;
+		for (String word : words) {
+			if (word.length() >= minLength) {
+				longer[count++] = word;
+			}
+		}
+		return longer;
+	}
+
+	private static String[] compute(Dictionary dictionary, String signature, int minLength,
+			SubWordExecutor executor) {
+		ForkJoinPool pool = executor == null ? null : executor.poolFor(signature.length());
+		return dictionary.subWords(signature, minLength, pool).toArray(new String[0]);
+	}
+
+	/**
+	 * Removes all entries, eg. when the dictionary changes.
+	 */
+	public void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return The number of entries.
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "capacity=[" + capacity + "], size=[" + size() + "], hits=[" + getHitCount() + "], misses=["
+				+ getMissCount() + "], evictions=[" + getEvictionCount() + "]";
+	}
+
+	private static final class Entry {
+
+		final Dictionary dictionary;
+
+		final int minLength;
+
+		final String[] words;
+
+		Entry(Dictionary dictionary, int minLength, String[] words) {
+			this.dictionary = dictionary;
+			this.minLength = minLength;
+			this.words = words;
+		}
+
+	}
+
+	private final class Segment extends LinkedHashMap<String, Entry> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int limit;
+
+		Segment(int limit) {
+			super(16, 0.75f, true);
+			this.limit = limit;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			if (size() > limit) {
+				evictions.increment();
+				return true;
+			}
+			return false;
+		}
+
+	}
+
+}
@@ -0,0 +1,107 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dedicated fork/join pool for the sub-words of long racks.
+ *
+ * The sub-multisets of a rack grow exponentially with its length, so from
+ * `threshold` letters the enumeration is split into subtrees run in parallel
+ * (see {@link Dictionary#subWords(CharSequence, int, ForkJoinPool)}). The
+ * pool is separate from the common pool, and sized on its own, so that long
+ * racks cannot take more than `parallelism` cores from the web threads.
+ */
+public class SubWordExecutor implements AutoCloseable {
+
+	/**
+	 * Default rack length from which the search runs in parallel.
+	 */
+	public static final int DEFAULT_THRESHOLD = 10;
+
+	private final ForkJoinPool pool;
+
+	private final int threshold;
+
+	private final LongAdder parallelSearches = new LongAdder();
+
+	/**
+	 * @param parallelism The number of worker threads.
+	 * @param threshold   The rack length (inclusive) from which the search runs in
+	 *                    parallel.
+	 */
+	public SubWordExecutor(int parallelism, int threshold) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("Invalid parallelism=[" + parallelism + "], expect positive integer");
+		}
+		if (threshold <= 0) {
+			throw new IllegalArgumentException("Invalid threshold=[" + threshold + "], expect positive integer");
+		}
+		this.threshold = threshold;
+		AtomicInteger count = new AtomicInteger();
+		this.pool = new ForkJoinPool(parallelism, p -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+			thread.setName("sub-words-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}, null, false);
+	}
+
+	/**
+	 * @param rackLength The number of letters of the rack.
+	 * @return The pool to search the rack in parallel, or null to search it on
+	 *         the calling thread.
+	 */
+	ForkJoinPool poolFor(int rackLength) {
+		if (rackLength < threshold) {
+			return null;
+		}
+		parallelSearches.increment();
+		return pool;
+	}
+
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+
+	public int getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * @return The number of searches run in parallel.
+	 */
+	public long getParallelCount() {
+		return parallelSearches.sum();
+	}
+
+	/**
+	 * @return The number of subtrees taken by an idle worker from a busy one.
+	 */
+	public long getStealCount() {
+		return pool.getStealCount();
+	}
+
+	@Override
+	public String toString() {
+		return "parallelism=[" + getParallelism() + "], threshold=[" + threshold + "], parallel=["
+				+ getParallelCount() + "], steals=[" + getStealCount() + "]";
+	}
+
+	/**
+	 * Stops the workers, after the searches in progress.
+	 */
+	@Override
+	public void close() {
+		pool.shutdown();
+		try {
+			pool.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,188 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over the words of a {@link Dictionary}, rejecting most words not
+ * in it before the exact lookup.
+ *
+ * A word not in the filter is definitely not in the dictionary; a word in it
+ * probably is, wrong at about the configured false-positive rate. Lookups fold
+ * the query to lower case one character at a time, hashing it once for all
+ * the probes, and allocate nothing. The filter is immutable once built; only
+ * its counters change.
+ */
+public final class WordFilter {
+
+	private final long[] bits;
+
+	private final long bitCount;
+
+	private final int hashCount;
+
+	private final double falsePositiveRate;
+
+	private final LongAdder rejected = new LongAdder();
+
+	private final LongAdder passed = new LongAdder();
+
+	private final LongAdder falsePositives = new LongAdder();
+
+	private WordFilter(long bitCount, int hashCount, double falsePositiveRate) {
+		this.bits = new long[(int) ((bitCount + 63) >>> 6)];
+		this.bitCount = bitCount;
+		this.hashCount = hashCount;
+		this.falsePositiveRate = falsePositiveRate;
+	}
+
+	/**
+	 * Builds the filter of `words`, sized for `falsePositiveRate`.
+	 *
+	 * @param words             The distinct, lower-cased words.
+	 * @param falsePositiveRate The wanted rate of words passing the filter though
+	 *                          not in `words`, between 0 and 1 (exclusive).
+	 * @return The filter.
+	 */
+	static WordFilter build(WordStore words, double falsePositiveRate) {
+		if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+			throw new IllegalArgumentException(
+					"Invalid falsePositiveRate=[" + falsePositiveRate + "], expect between 0 and 1 (exclusive)");
+		}
+		int size = Math.max(1, words.size());
+		// optimal size and number of hashes, m = -n ln(p) / ln(2)^2 and k = m/n ln(2)
+		double ln2 = Math.log(2);
+		long bitCount = Math.max(64, (long) Math.ceil(-size * Math.log(falsePositiveRate) / (ln2 * ln2)));
+		if (bitCount > (1L << 32)) {
+			throw new IllegalArgumentException("Invalid falsePositiveRate=[" + falsePositiveRate + "], filter of words=["
+					+ words.size() + "] too large");
+		}
+		int hashCount = (int) Math.max(1, Math.min(30, Math.round((double) bitCount / size * ln2)));
+		WordFilter filter = new WordFilter(bitCount, hashCount, falsePositiveRate);
+		for (int ix = 0, count = words.size(); ix < count; ix += 1) {
+			long h1 = 0;
+			long h2 = 0;
+			for (int pos = 0, length = words.length(ix); pos < length; pos += 1) {
+				char c = words.charAt(ix, pos);
+				h1 = 31 * h1 + c;
+				h2 = 0x100000001B3L * (h2 ^ c);
+			}
+			filter.add(mix(h1, h2));
+		}
+		return filter;
+	}
+
+	private void add(long hash) {
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int ix = 0; ix < hashCount; ix += 1) {
+			long bit = bit(h1 + ix * h2);
+			bits[(int) (bit >>> 6)] |= 1L << bit;
+		}
+	}
+
+	/**
+	 * @param word The word to check, case insensitive.
+	 * @return false if `word` is definitely not in the dictionary, true if it
+	 *         may be.
+	 */
+	public boolean mightContain(CharSequence word) {
+		long h1 = 0;
+		long h2 = 0;
+		for (int pos = 0, length = word.length(); pos < length; pos += 1) {
+			char c = Character.toLowerCase(word.charAt(pos));
+			h1 = 31 * h1 + c;
+			h2 = 0x100000001B3L * (h2 ^ c);
+		}
+		long hash = mix(h1, h2);
+		int probe1 = (int) hash;
+		int probe2 = (int) (hash >>> 32);
+		for (int ix = 0; ix < hashCount; ix += 1) {
+			long bit = bit(probe1 + ix * probe2);
+			if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+				rejected.increment();
+				return false;
+			}
+		}
+		passed.increment();
+		return true;
+	}
+
+	/**
+	 * Counts a word that passed the filter, but is not in the dictionary.
+	 */
+	void falsePositive() {
+		falsePositives.increment();
+	}
+
+	/*
+	 * Maps the probe uniformly to [0, bitCount), without division.
+	 */
+	private long bit(int probe) {
+		return ((probe & 0xFFFFFFFFL) * bitCount) >>> 32;
+	}
+
+	private static long mix(long h1, long h2) {
+		long h = h1 * 0x9E3779B97F4A7C15L ^ h2;
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	/**
+	 * @return The configured false-positive rate.
+	 */
+	public double getFalsePositiveRate() {
+		return falsePositiveRate;
+	}
+
+	public int getHashCount() {
+		return hashCount;
+	}
+
+	/**
+	 * @return The memory held by the filter, in bytes.
+	 */
+	public long sizeInBytes() {
+		return bits.length * 8L;
+	}
+
+	/**
+	 * @return The number of words rejected by the filter, without exact lookup.
+	 */
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	/**
+	 * @return The number of words passed to the exact lookup.
+	 */
+	public long getPassedCount() {
+		return passed.sum();
+	}
+
+	/**
+	 * @return The number of words passed to the exact lookup, but not found.
+	 */
+	public long getFalsePositiveCount() {
+		return falsePositives.sum();
+	}
+
+	/**
+	 * @return The fraction of checked words rejected by the filter, or 0 if none
+	 *         checked yet.
+	 */
+	public double getRejectedRatio() {
+		long rejected = getRejectedCount();
+		long total = rejected + getPassedCount();
+		return total == 0 ? 0 : (double) rejected / total;
+	}
+
+	@Override
+	public String toString() {
+		return "falsePositiveRate=[" + falsePositiveRate + "], bytes=[" + sizeInBytes() + "], hashes=[" + hashCount
+				+ "], rejected=[" + getRejectedCount() + "], passed=[" + getPassedCount() + "], falsePositives=["
+				+ getFalsePositiveCount() + "]";
+	}
+
+}
@@ -0,0 +1,119 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.nio.IntBuffer;
+
+/**
+ * Open-addressing (linear probing) hash set over lower-cased words.
+ *
+ * The table only stores word indexes into the shared key store. Lookups fold
+ * the query to lower case one character at a time, so checking a word costs
+ * O(word length) and allocates nothing.
+ */
+final class WordHashTable {
+
+	private final WordStore keys;
+
+	/*
+	 * Index of key plus 1, so that 0 marks an empty slot.
+	 */
+	private final IntBuffer slots;
+
+	private final int mask;
+
+	WordHashTable(WordStore keys, IntBuffer slots) {
+		this.keys = keys;
+		this.slots = slots;
+		this.mask = slots.limit() - 1;
+	}
+
+	/**
+	 * Builds the slots table for `keys`, at load factor of at most 0.5.
+	 *
+	 * @param keys The distinct, lower-cased keys.
+	 * @return The slots, to pass to the constructor.
+	 */
+	static int[] slots(WordStore keys) {
+		int size = keys.size();
+		int capacity = Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+		int[] slots = new int[capacity];
+		int mask = capacity - 1;
+		for (int ix = 0; ix < size; ix += 1) {
+			int h = 0;
+			for (int pos = 0, length = keys.length(ix); pos < length; pos += 1) {
+				h = 31 * h + keys.charAt(ix, pos);
+			}
+			int slot = mix(h) & mask;
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = ix + 1;
+		}
+		return slots;
+	}
+
+	/**
+	 * @param word The word to find, case insensitive.
+	 * @return The index of `word` in keys, or -1 if not found.
+	 */
+	int indexOf(CharSequence word) {
+		int length = word.length();
+		int h = 0;
+		for (int ix = 0; ix < length; ix += 1) {
+			h = 31 * h + Character.toLowerCase(word.charAt(ix));
+		}
+		int slot = mix(h) & mask;
+		int entry;
+		while ((entry = slots.get(slot)) != 0) {
+			if (keys.length(entry - 1) == length && equalsFolded(entry - 1, word)) {
+				return entry - 1;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * @param chars  The buffer holding the word to find, case insensitive.
+	 * @param length The length of the word, from start of `chars`.
+	 * @return The index of the word in keys, or -1 if not found.
+	 */
+	int indexOf(char[] chars, int length) {
+		int h = 0;
+		for (int ix = 0; ix < length; ix += 1) {
+			h = 31 * h + Character.toLowerCase(chars[ix]);
+		}
+		int slot = mix(h) & mask;
+		int entry;
+		while ((entry = slots.get(slot)) != 0) {
+			if (keys.length(entry - 1) == length && equalsFolded(entry - 1, chars)) {
+				return entry - 1;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private boolean equalsFolded(int key, char[] chars) {
+		for (int ix = keys.length(key) - 1; ix >= 0; ix -= 1) {
+			if (keys.charAt(key, ix) != Character.toLowerCase(chars[ix])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean equalsFolded(int key, CharSequence word) {
+		for (int ix = keys.length(key) - 1; ix >= 0; ix -= 1) {
+			if (keys.charAt(key, ix) != Character.toLowerCase(word.charAt(ix))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int mix(int h) {
+		h *= 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+}
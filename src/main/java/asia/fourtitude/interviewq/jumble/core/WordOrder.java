@@ -0,0 +1,19 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Order of a page of words, see
+ * {@link JumbleEngine#wordsMatchingPrefix(String, WordOrder, String, int)}.
+ */
+public enum WordOrder {
+
+	/**
+	 * Alphabetically.
+	 */
+	ALPHABETICAL,
+
+	/**
+	 * Shortest first, then alphabetically.
+	 */
+	LENGTH
+
+}
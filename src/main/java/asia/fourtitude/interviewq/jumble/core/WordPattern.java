@@ -0,0 +1,152 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Locale;
+
+/**
+ * Glob-style word pattern: letters match themselves (case insensitive), `?`
+ * matches one letter and `*` matches any run of letters, including none.
+ *
+ * The literal letters before the first and after the last wildcard, and the
+ * range of lengths, are extracted once so that the dictionary only visits the
+ * words that can match.
+ */
+final class WordPattern {
+
+	static final char ONE = '?';
+
+	static final char ANY = '*';
+
+	/*
+	 * Lower-cased, with runs of `*` collapsed into one.
+	 */
+	private final char[] chars;
+
+	private final String prefix;
+
+	private final String suffix;
+
+	private final int minLength;
+
+	private final boolean hasAny;
+
+	private WordPattern(char[] chars, String prefix, String suffix, int minLength, boolean hasAny) {
+		this.chars = chars;
+		this.prefix = prefix;
+		this.suffix = suffix;
+		this.minLength = minLength;
+		this.hasAny = hasAny;
+	}
+
+	/**
+	 * @param pattern The pattern, of letters, `?` and `*`.
+	 * @return The parsed pattern.
+	 * @throws IllegalArgumentException if the pattern is empty, or has other
+	 *                                  characters.
+	 */
+	static WordPattern parse(CharSequence pattern) {
+		if (pattern == null || pattern.length() == 0) {
+			throw new IllegalArgumentException("Invalid pattern=[" + pattern + "], expect letters, ? or *");
+		}
+		String lower = pattern.toString().toLowerCase(Locale.ROOT);
+		StringBuilder sb = new StringBuilder(lower.length());
+		int minLength = 0;
+		for (int ix = 0; ix < lower.length(); ix += 1) {
+			char c = lower.charAt(ix);
+			if (c == ANY) {
+				if (sb.length() == 0 || sb.charAt(sb.length() - 1) != ANY) {
+					sb.append(c);
+				}
+			} else if (c == ONE || Character.isLetter(c)) {
+				sb.append(c);
+				minLength += 1;
+			} else {
+				throw new IllegalArgumentException("Invalid pattern=[" + pattern + "], expect letters, ? or *");
+			}
+		}
+		char[] chars = sb.toString().toCharArray();
+		int first = 0;
+		while (first < chars.length && chars[first] != ONE && chars[first] != ANY) {
+			first += 1;
+		}
+		int last = chars.length;
+		while (last > first && chars[last - 1] != ONE && chars[last - 1] != ANY) {
+			last -= 1;
+		}
+		return new WordPattern(chars, new String(chars, 0, first), new String(chars, last, chars.length - last),
+				minLength, sb.indexOf(String.valueOf(ANY)) >= 0);
+	}
+
+	/**
+	 * @return The letters before the first wildcard, empty if none.
+	 */
+	String prefix() {
+		return prefix;
+	}
+
+	/**
+	 * @return The letters after the last wildcard, empty if none or if the
+	 *         pattern has no wildcard (all in the prefix then).
+	 */
+	String suffix() {
+		return suffix;
+	}
+
+	int minLength() {
+		return minLength;
+	}
+
+	/**
+	 * @return The maximum length of the matching words, Integer.MAX_VALUE when
+	 *         the pattern has `*`.
+	 */
+	int maxLength() {
+		return hasAny ? Integer.MAX_VALUE : minLength;
+	}
+
+	/**
+	 * Matches word at `index` of `words`, without allocating. `*` is matched by
+	 * backtracking to the last `*` only, so a word costs O(word length *
+	 * pattern length) at worst.
+	 *
+	 * @param words The lower-cased words.
+	 * @param index The index of the word.
+	 * @return true if the whole word matches.
+	 */
+	boolean matches(WordStore words, int index) {
+		int length = words.length(index);
+		if (length < minLength || length > maxLength()) {
+			return false;
+		}
+		int pos = 0;
+		int at = 0;
+		int anyAt = -1;
+		int anyPos = 0;
+		while (pos < length) {
+			if (at < chars.length && chars[at] == ANY) {
+				anyAt = at;
+				anyPos = pos;
+				at += 1;
+			} else if (at < chars.length && (chars[at] == ONE || chars[at] == words.charAt(index, pos))) {
+				at += 1;
+				pos += 1;
+			} else if (anyAt >= 0) {
+				// let the last `*` take one more letter
+				at = anyAt + 1;
+				anyPos += 1;
+				pos = anyPos;
+			} else {
+				return false;
+			}
+		}
+		while (at < chars.length && chars[at] == ANY) {
+			at += 1;
+		}
+		return at == chars.length;
+	}
+
+	@Override
+	public String toString() {
+		return new String(chars);
+	}
+
+}
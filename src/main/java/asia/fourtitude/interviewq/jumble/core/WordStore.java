@@ -0,0 +1,26 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Read access to a list of lower-cased words by index, either held on heap or
+ * read from a memory-mapped dictionary file.
+ */
+interface WordStore {
+
+	int size();
+
+	/**
+	 * @return The number of characters of word at `index`.
+	 */
+	int length(int index);
+
+	/**
+	 * @return The character at `pos` of word at `index`.
+	 */
+	char charAt(int index, int pos);
+
+	/**
+	 * @return The word at `index`, as a String.
+	 */
+	String get(int index);
+
+}
@@ -0,0 +1,212 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import asia.fourtitude.interviewq.jumble.core.DictionaryWatcher;
+import asia.fourtitude.interviewq.jumble.core.GameStatePool;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.SubWordCache;
+import asia.fourtitude.interviewq.jumble.core.SubWordExecutor;
+import asia.fourtitude.interviewq.jumble.core.WordFilter;
+import asia.fourtitude.interviewq.jumble.repository.FileGameRepository;
+import asia.fourtitude.interviewq.jumble.repository.GameRepository;
+import asia.fourtitude.interviewq.jumble.repository.InMemoryGameRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Gauges and counters of the application state, read when scraped: live,
+ * evicted and logged games, dictionary size, reloads and index size, word
+ * filter, sub-word cache and game pool effectiveness. This binder only reads
+ * the counters kept by the components, it records nothing itself.
+ *
+ * The word filter is rebuilt with each reloaded dictionary, so its counters
+ * restart from 0 then, as counters of a restarted application would.
+ *
+ * The engine, the game pool and the dictionary watcher are looked up when
+ * scraped, not when bound: the registry binds this while it is being created,
+ * before the (metered) engine that needs the registry can exist. Without a
+ * watcher, the reload counters stay at 0.
+ */
+public class JumbleMetrics implements MeterBinder {
+
+	private final Supplier<JumbleEngine> engine;
+
+	private final GameRepository gameRepository;
+
+	private final Supplier<GameStatePool> gameStatePool;
+
+	private final Supplier<DictionaryWatcher> dictionaryWatcher;
+
+	public JumbleMetrics(JumbleEngine engine, GameRepository gameRepository, GameStatePool gameStatePool) {
+		this(() -> engine, gameRepository, () -> gameStatePool, () -> null);
+	}
+
+	/**
+	 * @param engine            The engine, looked up when scraped.
+	 * @param gameRepository    The games of the REST API.
+	 * @param gameStatePool     The game pool, looked up when scraped.
+	 * @param dictionaryWatcher The dictionary watcher, looked up when scraped;
+	 *                          supplies null when the dictionary is not watched.
+	 */
+	public JumbleMetrics(Supplier<JumbleEngine> engine, GameRepository gameRepository,
+			Supplier<GameStatePool> gameStatePool, Supplier<DictionaryWatcher> dictionaryWatcher) {
+		this.engine = engine;
+		this.gameRepository = gameRepository;
+		this.gameStatePool = gameStatePool;
+		this.dictionaryWatcher = dictionaryWatcher;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("jumble.games.live", gameRepository, GameRepository::size)
+				.description("Games kept for the REST API")
+				.baseUnit("games")
+				.register(registry);
+		InMemoryGameRepository games = inMemoryGames(gameRepository);
+		if (games != null) {
+			FunctionCounter.builder("jumble.games.evictions", games, InMemoryGameRepository::getIdleEvictionCount)
+					.description("Games removed from the REST API store")
+					.tag("reason", "idle")
+					.register(registry);
+			FunctionCounter.builder("jumble.games.evictions", games,
+					InMemoryGameRepository::getFinishedEvictionCount)
+					.description("Games removed from the REST API store")
+					.tag("reason", "finished")
+					.register(registry);
+			FunctionCounter.builder("jumble.games.evictions", games,
+					InMemoryGameRepository::getCapacityEvictionCount)
+					.description("Games removed from the REST API store")
+					.tag("reason", "capacity")
+					.register(registry);
+		}
+		if (gameRepository instanceof FileGameRepository) {
+			FileGameRepository log = (FileGameRepository) gameRepository;
+			FunctionCounter.builder("jumble.games.log.records", log, FileGameRepository::getRecordCount)
+					.description("Game records written to the log")
+					.tag("result", "written")
+					.register(registry);
+			FunctionCounter.builder("jumble.games.log.records", log, FileGameRepository::getFailureCount)
+					.description("Game records written to the log")
+					.tag("result", "failed")
+					.register(registry);
+			FunctionCounter.builder("jumble.games.log.batches", log, FileGameRepository::getBatchCount)
+					.description("Batched writes to the log, each forced when fsync")
+					.register(registry);
+		}
+
+		// read through the engine, so that a reloaded dictionary is reported
+		Gauge.builder("jumble.dictionary.words", engine, e -> e.get().getDictionary().size())
+				.description("Words in the dictionary")
+				.baseUnit("words")
+				.register(registry);
+		FunctionCounter.builder("jumble.dictionary.reloads", dictionaryWatcher,
+				w -> watcherValue(w, DictionaryWatcher::getReloadCount))
+				.description("Dictionary reloads of the watched file")
+				.tag("result", "success")
+				.register(registry);
+		FunctionCounter.builder("jumble.dictionary.reloads", dictionaryWatcher,
+				w -> watcherValue(w, DictionaryWatcher::getFailureCount))
+				.description("Dictionary reloads of the watched file")
+				.tag("result", "failure")
+				.register(registry);
+		Gauge.builder("jumble.dictionary.index.memory", engine, e -> e.get().getDictionary().indexSizeInBytes())
+				.description("Memory held by the dictionary index")
+				.baseUnit("bytes")
+				.register(registry);
+		Gauge.builder("jumble.dictionary.filter.memory", engine, e -> filterValue(e, WordFilter::sizeInBytes))
+				.description("Memory held by the word filter")
+				.baseUnit("bytes")
+				.register(registry);
+		FunctionCounter.builder("jumble.dictionary.filter.checks", engine,
+				e -> filterValue(e, WordFilter::getRejectedCount))
+				.description("Words checked by the word filter")
+				.tag("result", "rejected")
+				.register(registry);
+		FunctionCounter.builder("jumble.dictionary.filter.checks", engine,
+				e -> filterValue(e, WordFilter::getPassedCount))
+				.description("Words checked by the word filter")
+				.tag("result", "passed")
+				.register(registry);
+		FunctionCounter.builder("jumble.dictionary.filter.false.positives", engine,
+				e -> filterValue(e, WordFilter::getFalsePositiveCount))
+				.description("Words passed by the word filter, but not in the dictionary")
+				.register(registry);
+
+		Gauge.builder("jumble.subword.cache.size", engine, e -> cacheValue(e, SubWordCache::size))
+				.description("Entries in the sub-word cache")
+				.register(registry);
+		FunctionCounter.builder("jumble.subword.cache.requests", engine,
+				e -> cacheValue(e, SubWordCache::getHitCount))
+				.description("Sub-word cache lookups")
+				.tag("result", "hit")
+				.register(registry);
+		FunctionCounter.builder("jumble.subword.cache.requests", engine,
+				e -> cacheValue(e, SubWordCache::getMissCount))
+				.description("Sub-word cache lookups")
+				.tag("result", "miss")
+				.register(registry);
+		FunctionCounter.builder("jumble.subword.cache.evictions", engine,
+				e -> cacheValue(e, SubWordCache::getEvictionCount))
+				.description("Sub-word cache entries evicted")
+				.register(registry);
+
+		FunctionCounter.builder("jumble.subword.parallel.searches", engine,
+				e -> executorValue(e, SubWordExecutor::getParallelCount))
+				.description("Sub-word searches of long racks run in parallel")
+				.register(registry);
+		FunctionCounter.builder("jumble.subword.parallel.steals", engine,
+				e -> executorValue(e, SubWordExecutor::getStealCount))
+				.description("Sub-word search subtrees stolen by idle workers")
+				.register(registry);
+
+		Gauge.builder("jumble.game.pool.ready", gameStatePool, p -> p.get().getReadyCount())
+				.description("Ready-made game states in the pool")
+				.register(registry);
+		FunctionCounter.builder("jumble.game.pool.takes", gameStatePool, p -> p.get().getHitCount())
+				.description("Game states taken from the pool")
+				.tag("result", "hit")
+				.register(registry);
+		FunctionCounter.builder("jumble.game.pool.takes", gameStatePool, p -> p.get().getMissCount())
+				.description("Game states taken from the pool")
+				.tag("result", "miss")
+				.register(registry);
+		FunctionCounter.builder("jumble.game.pool.discarded", gameStatePool, p -> p.get().getDiscardedCount())
+				.description("Game states discarded from the pool, built from a replaced dictionary")
+				.register(registry);
+	}
+
+	private static InMemoryGameRepository inMemoryGames(GameRepository gameRepository) {
+		if (gameRepository instanceof FileGameRepository) {
+			return ((FileGameRepository) gameRepository).getGames();
+		}
+		if (gameRepository instanceof InMemoryGameRepository) {
+			return (InMemoryGameRepository) gameRepository;
+		}
+		return null;
+	}
+
+	private static double filterValue(Supplier<JumbleEngine> engine, ToLongFunction<WordFilter> value) {
+		WordFilter filter = engine.get().getDictionary().filter();
+		return filter == null ? 0 : value.applyAsLong(filter);
+	}
+
+	private static double watcherValue(Supplier<DictionaryWatcher> watcher,
+			ToLongFunction<DictionaryWatcher> value) {
+		DictionaryWatcher w = watcher.get();
+		return w == null ? 0 : value.applyAsLong(w);
+	}
+
+	private static double cacheValue(Supplier<JumbleEngine> engine, ToLongFunction<SubWordCache> value) {
+		return value.applyAsLong(engine.get().getSubWordCache());
+	}
+
+	private static double executorValue(Supplier<JumbleEngine> engine, ToLongFunction<SubWordExecutor> value) {
+		SubWordExecutor executor = engine.get().getSubWordExecutor();
+		return executor == null ? 0 : value.applyAsLong(executor);
+	}
+
+}
@@ -0,0 +1,283 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import asia.fourtitude.interviewq.jumble.core.Dictionary;
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.SubWordCache;
+import asia.fourtitude.interviewq.jumble.core.SubWordExecutor;
+import asia.fourtitude.interviewq.jumble.core.WordOrder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link JumbleEngine} recording the latency and count of each call, in timer
+ * `jumble.engine` tagged by `method`, and the number of words returned by the
+ * queries, in distribution summary `jumble.engine.results` tagged by `query`.
+ *
+ * The meters are looked up once, when created, so a call only costs two
+ * `System.nanoTime()` and the (lock-free) recording. Histograms and percentiles
+ * are configured with `management.metrics.distribution.*` properties.
+ */
+public class MeteredJumbleEngine extends JumbleEngine {
+
+	static final String TIMER = "jumble.engine";
+
+	static final String RESULTS = "jumble.engine.results";
+
+	private final Timer scramble;
+
+	private final Timer scrambleAll;
+
+	private final Timer palindromes;
+
+	private final Timer semordnilaps;
+
+	private final Timer pickOneRandomWord;
+
+	private final Timer exists;
+
+	private final Timer wordsMatchingPrefix;
+
+	private final Timer countWordsMatchingPrefix;
+
+	private final Timer wordsMatchingSuffix;
+
+	private final Timer countWordsMatchingSuffix;
+
+	private final Timer searchWords;
+
+	private final Timer wordsMatchingPattern;
+
+	private final Timer generateSubWords;
+
+	private final Timer createGameState;
+
+	private final DistributionSummary prefixResults;
+
+	private final DistributionSummary suffixResults;
+
+	private final DistributionSummary searchResults;
+
+	private final DistributionSummary patternResults;
+
+	private final DistributionSummary subWordResults;
+
+	/**
+	 * @param dictionary   The dictionary snapshot, loaded once.
+	 * @param subWordCache The cache of sub-word results.
+	 * @param registry     The registry of the meters.
+	 */
+	public MeteredJumbleEngine(Dictionary dictionary, SubWordCache subWordCache, MeterRegistry registry) {
+		this(dictionary, subWordCache, null, registry);
+	}
+
+	/**
+	 * @param dictionary      The dictionary snapshot, loaded once.
+	 * @param subWordCache    The cache of sub-word results.
+	 * @param subWordExecutor The executor of long racks, or null for none.
+	 * @param registry        The registry of the meters.
+	 */
+	public MeteredJumbleEngine(Dictionary dictionary, SubWordCache subWordCache, SubWordExecutor subWordExecutor,
+			MeterRegistry registry) {
+		super(dictionary, subWordCache, subWordExecutor);
+		this.scramble = timer(registry, "scramble");
+		this.scrambleAll = timer(registry, "scrambleAll");
+		this.palindromes = timer(registry, "retrievePalindromeWords");
+		this.semordnilaps = timer(registry, "retrieveSemordnilapWords");
+		this.pickOneRandomWord = timer(registry, "pickOneRandomWord");
+		this.exists = timer(registry, "exists");
+		this.wordsMatchingPrefix = timer(registry, "wordsMatchingPrefix");
+		this.countWordsMatchingPrefix = timer(registry, "countWordsMatchingPrefix");
+		this.wordsMatchingSuffix = timer(registry, "wordsMatchingSuffix");
+		this.countWordsMatchingSuffix = timer(registry, "countWordsMatchingSuffix");
+		this.searchWords = timer(registry, "searchWords");
+		this.wordsMatchingPattern = timer(registry, "wordsMatchingPattern");
+		this.generateSubWords = timer(registry, "generateSubWords");
+		this.createGameState = timer(registry, "createGameState");
+		this.prefixResults = results(registry, "prefix");
+		this.suffixResults = results(registry, "suffix");
+		this.searchResults = results(registry, "search");
+		this.patternResults = results(registry, "pattern");
+		this.subWordResults = results(registry, "subWords");
+	}
+
+	private static Timer timer(MeterRegistry registry, String method) {
+		return Timer.builder(TIMER)
+				.description("Latency of JumbleEngine calls")
+				.tag("method", method)
+				.register(registry);
+	}
+
+	private static DistributionSummary results(MeterRegistry registry, String query) {
+		return DistributionSummary.builder(RESULTS)
+				.description("Number of words returned by JumbleEngine queries")
+				.baseUnit("words")
+				.tag("query", query)
+				.register(registry);
+	}
+
+	private static void record(Timer timer, long start) {
+		timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public String scramble(String word) {
+		long start = System.nanoTime();
+		try {
+			return super.scramble(word);
+		} finally {
+			record(scramble, start);
+		}
+	}
+
+	@Override
+	public List<String> scrambleAll(Collection<String> words) {
+		long start = System.nanoTime();
+		try {
+			return super.scrambleAll(words);
+		} finally {
+			record(scrambleAll, start);
+		}
+	}
+
+	@Override
+	public Collection<String> retrievePalindromeWords() {
+		long start = System.nanoTime();
+		try {
+			return super.retrievePalindromeWords();
+		} finally {
+			record(palindromes, start);
+		}
+	}
+
+	@Override
+	public Collection<String> retrieveSemordnilapWords() {
+		long start = System.nanoTime();
+		try {
+			return super.retrieveSemordnilapWords();
+		} finally {
+			record(semordnilaps, start);
+		}
+	}
+
+	@Override
+	public String pickOneRandomWord(Integer length) {
+		long start = System.nanoTime();
+		try {
+			return super.pickOneRandomWord(length);
+		} finally {
+			record(pickOneRandomWord, start);
+		}
+	}
+
+	@Override
+	public String pickOneRandomWord(Integer length, SplittableRandom random) {
+		long start = System.nanoTime();
+		try {
+			return super.pickOneRandomWord(length, random);
+		} finally {
+			record(pickOneRandomWord, start);
+		}
+	}
+
+	@Override
+	public boolean exists(String word) {
+		long start = System.nanoTime();
+		try {
+			return super.exists(word);
+		} finally {
+			record(exists, start);
+		}
+	}
+
+	@Override
+	public Collection<String> wordsMatchingPrefix(String prefix) {
+		long start = System.nanoTime();
+		Collection<String> words = super.wordsMatchingPrefix(prefix);
+		record(wordsMatchingPrefix, start);
+		prefixResults.record(words.size());
+		return words;
+	}
+
+	@Override
+	public List<String> wordsMatchingPrefix(String prefix, WordOrder order, String after, int limit) {
+		long start = System.nanoTime();
+		List<String> words = super.wordsMatchingPrefix(prefix, order, after, limit);
+		record(wordsMatchingPrefix, start);
+		prefixResults.record(words.size());
+		return words;
+	}
+
+	@Override
+	public int countWordsMatchingPrefix(String prefix) {
+		long start = System.nanoTime();
+		try {
+			return super.countWordsMatchingPrefix(prefix);
+		} finally {
+			record(countWordsMatchingPrefix, start);
+		}
+	}
+
+	@Override
+	public Collection<String> wordsMatchingSuffix(String suffix) {
+		long start = System.nanoTime();
+		Collection<String> words = super.wordsMatchingSuffix(suffix);
+		record(wordsMatchingSuffix, start);
+		suffixResults.record(words.size());
+		return words;
+	}
+
+	@Override
+	public int countWordsMatchingSuffix(String suffix) {
+		long start = System.nanoTime();
+		try {
+			return super.countWordsMatchingSuffix(suffix);
+		} finally {
+			record(countWordsMatchingSuffix, start);
+		}
+	}
+
+	@Override
+	public Collection<String> searchWords(Character startChar, Character endChar, Integer length) {
+		long start = System.nanoTime();
+		Collection<String> words = super.searchWords(startChar, endChar, length);
+		record(searchWords, start);
+		searchResults.record(words.size());
+		return words;
+	}
+
+	@Override
+	public List<String> wordsMatchingPattern(String pattern, int limit) {
+		long start = System.nanoTime();
+		List<String> words = super.wordsMatchingPattern(pattern, limit);
+		record(wordsMatchingPattern, start);
+		patternResults.record(words.size());
+		return words;
+	}
+
+	@Override
+	public Collection<String> generateSubWords(String word, Integer minLength) {
+		long start = System.nanoTime();
+		Collection<String> words = super.generateSubWords(word, minLength);
+		record(generateSubWords, start);
+		subWordResults.record(words.size());
+		return words;
+	}
+
+	@Override
+	public GameState createGameState(Integer length, Integer minLength) {
+		long start = System.nanoTime();
+		try {
+			return super.createGameState(length, minLength);
+		} finally {
+			record(createGameState, start);
+		}
+	}
+
+}
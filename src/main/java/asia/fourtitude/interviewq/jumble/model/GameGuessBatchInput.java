@@ -0,0 +1,66 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+
+@JsonInclude(Include.NON_NULL)
+public class GameGuessBatchInput {
+
+    @Schema(
+            title = "ID",
+            description = "Unique identifier of the game state.",
+            example = "4579256c-326f-4169-9b56-6d1d1a2c11f0",
+            nullable = false,
+            requiredMode = RequiredMode.REQUIRED)
+    @NotNull
+    private String id;
+
+    @ArraySchema(
+            arraySchema = @Schema(
+                    title = "Words",
+                    description = "The words to guess, in order.",
+                    example = "[\"answer\", \"saw\", \"swan\"]",
+                    requiredMode = RequiredMode.REQUIRED),
+            minItems = 1,
+            maxItems = 100)
+    @NotEmpty
+    private List<String> words;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<String> getWords() {
+        return words;
+    }
+
+    public void setWords(List<String> words) {
+        this.words = words;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (id != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("id=[").append(id).append(']');
+        }
+        if (words != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("words.size=[").append(words.size()).append(']');
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,46 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+
+/**
+ * The game state after a batch of guesses, as in {@link GameGuessOutput}
+ * (without `guess_word`), and the outcome of each guessed word.
+ */
+@JsonInclude(Include.NON_NULL)
+public class GameGuessBatchOutput extends GameGuessOutput {
+
+    @Schema(
+            description = "The outcome of each guessed word, in the order submitted.",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "outcomes")
+    private List<GameGuessOutcome> outcomes;
+
+    public List<GameGuessOutcome> getOutcomes() {
+        if (outcomes == null) {
+            outcomes = new ArrayList<>();
+        }
+        return outcomes;
+    }
+
+    public void setOutcomes(List<GameGuessOutcome> outcomes) {
+        this.outcomes = outcomes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(super.toString());
+        if (outcomes != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("outcomes.size=[").append(outcomes.size()).append(']');
+        }
+        return sb.toString();
+    }
+
+}
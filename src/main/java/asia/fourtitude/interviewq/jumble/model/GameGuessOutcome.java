@@ -0,0 +1,50 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import asia.fourtitude.interviewq.jumble.core.GuessOutcome;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+
+public class GameGuessOutcome {
+
+    @Schema(
+            description = "The guessed word.",
+            example = "swan",
+            requiredMode = RequiredMode.AUTO)
+    private String word;
+
+    @Schema(
+            description = "Whether the word is a new correct guess, was guessed already, or is incorrect.",
+            example = "CORRECT",
+            requiredMode = RequiredMode.AUTO)
+    private GuessOutcome outcome;
+
+    public GameGuessOutcome() {
+    }
+
+    public GameGuessOutcome(String word, GuessOutcome outcome) {
+        this.word = word;
+        this.outcome = outcome;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public void setWord(String word) {
+        this.word = word;
+    }
+
+    public GuessOutcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(GuessOutcome outcome) {
+        this.outcome = outcome;
+    }
+
+    @Override
+    public String toString() {
+        return "word=[" + word + "], outcome=[" + outcome + "]";
+    }
+
+}
@@ -0,0 +1,609 @@
+package asia.fourtitude.interviewq.jumble.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.model.GameGuessModel;
+
+/**
+ * Durable game repository: games are kept in an {@link InMemoryGameRepository},
+ * and every new game, correct guess and game evicted from memory (expired or
+ * over capacity) is appended to a log on disk, so that games survive a restart
+ * and evicted games stay removed.
+ *
+ * Request threads only encode a record and queue it. A single writer thread
+ * drains the queue and writes all pending records with one gathering
+ * {@link FileChannel} write, followed by one `force` (group commit). Writes are
+ * not acknowledged to the request: a crash may lose the last batch, never more.
+ *
+ * Periodically, the log is compacted: the writer moves on to a new log segment,
+ * a snapshot of all games is written next to it, then the older segments and
+ * snapshots are deleted. On startup, the latest snapshot is loaded, then the
+ * log segments written after it are replayed. A partially written record at the
+ * end of a segment (crash during a write) is ignored.
+ *
+ * Files in `directory`:
+ *
+ * <pre>
+ * games-0000000042.snapshot   games as of the start of segment 42
+ * games-0000000042.log        records since
+ * </pre>
+ *
+ * Both are sequences of records: `int length`, `int crc32`, then `length` bytes
+ * of payload (see {@link #encodeCreate(GameGuessModel)},
+ * {@link #encodeGuess(GameGuessModel, String)} and
+ * {@link #encodeRemove(GameGuessModel)}).
+ */
+public class FileGameRepository implements GameRepository, AutoCloseable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(FileGameRepository.class);
+
+	private static final Pattern FILE_NAME = Pattern.compile("games-(\\d+)\\.(log|snapshot|tmp)");
+
+	private static final byte CREATE = 1;
+
+	private static final byte GUESS = 2;
+
+	private static final byte REMOVE = 3;
+
+	private static final int MAX_RECORD_LENGTH = 1 << 24;
+
+	private static final int MAX_BATCH = 1024;
+
+	/*
+	 * Queued by close() to stop the writer.
+	 */
+	private static final byte[] END = new byte[0];
+
+	private final InMemoryGameRepository games;
+
+	private final Path directory;
+
+	private final boolean fsync;
+
+	private final BlockingQueue<byte[]> queue = new LinkedBlockingQueue<>(64 * 1024);
+
+	private final Thread writer;
+
+	private final ScheduledExecutorService compactor;
+
+	/*
+	 * Guards `channel` and `segment`: the writer holds it while writing a batch,
+	 * compact() while switching to a new segment.
+	 */
+	private final Object segmentLock = new Object();
+
+	private FileChannel channel;
+
+	private long segment;
+
+	private volatile boolean closed;
+
+	private final LongAdder records = new LongAdder();
+
+	private final LongAdder batches = new LongAdder();
+
+	private final LongAdder failures = new LongAdder();
+
+	/**
+	 * Loads the games in `directory`, if any, then starts logging.
+	 *
+	 * @param directory        The directory of log and snapshot files, created if
+	 *                         missing.
+	 * @param games            The in-memory store, holding the live games, and
+	 *                         their expiry.
+	 * @param snapshotInterval How often the log is compacted into a snapshot. Zero
+	 *                         for on close only (see {@link #compact()}).
+	 * @param fsync            Whether each batch is forced to the storage device,
+	 *                         or left to the OS to write back.
+	 * @throws UncheckedIOException If the directory cannot be read or written.
+	 */
+	public FileGameRepository(Path directory, InMemoryGameRepository games, Duration snapshotInterval,
+			boolean fsync) {
+		this.directory = directory;
+		this.games = games;
+		this.fsync = fsync;
+		try {
+			Files.createDirectories(directory);
+			this.segment = load();
+			this.channel = openSegment(segment);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to open game repository in " + directory, e);
+		}
+		games.setEvictionListener(this::evicted);
+		this.writer = new Thread(this::writeLoop, "game-log-writer");
+		writer.setDaemon(true);
+		writer.start();
+		if (snapshotInterval.isZero()) {
+			this.compactor = null;
+		} else {
+			this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "game-log-compactor");
+				thread.setDaemon(true);
+				return thread;
+			});
+			long period = snapshotInterval.toMillis();
+			compactor.scheduleWithFixedDelay(this::compactQuietly, period, period, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@Override
+	public void save(GameGuessModel model) {
+		games.save(model);
+		append(encodeCreate(model));
+	}
+
+	@Override
+	public GameGuessModel findById(String id) {
+		return games.findById(id);
+	}
+
+	@Override
+	public void recordGuess(GameGuessModel model, String word) {
+		append(encodeGuess(model, word));
+	}
+
+	@Override
+	public int size() {
+		return games.size();
+	}
+
+	/**
+	 * @return The in-memory store of the live games.
+	 */
+	public InMemoryGameRepository getGames() {
+		return games;
+	}
+
+	/*
+	 * Called by the in-memory store, from the sweeper or a request thread. Games
+	 * evicted while closing are covered by the final snapshot.
+	 */
+	private void evicted(GameGuessModel model) {
+		if (!closed) {
+			append(encodeRemove(model));
+		}
+	}
+
+	private void append(byte[] record) {
+		if (closed) {
+			throw new IllegalStateException("Game repository is closed");
+		}
+		try {
+			// blocks only when the writer falls behind by a full queue
+			queue.put(record);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while logging game", e);
+		}
+	}
+
+	private void writeLoop() {
+		List<byte[]> batch = new ArrayList<>();
+		boolean end = false;
+		while (!end) {
+			try {
+				batch.add(queue.take());
+				queue.drainTo(batch, MAX_BATCH - 1);
+			} catch (InterruptedException e) {
+				// only close() stops the writer, after the queue is drained
+				continue;
+			}
+			ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+			int count = 0;
+			for (byte[] record : batch) {
+				if (record == END) {
+					end = true;
+				} else {
+					buffers[count++] = ByteBuffer.wrap(record);
+				}
+			}
+			if (count > 0) {
+				write(buffers, count);
+			}
+			batch.clear();
+		}
+	}
+
+	private void write(ByteBuffer[] buffers, int count) {
+		synchronized (segmentLock) {
+			long start = -1;
+			try {
+				start = channel.size();
+				int offset = 0;
+				while (offset < count) {
+					channel.write(buffers, offset, count - offset);
+					while (offset < count && !buffers[offset].hasRemaining()) {
+						offset += 1;
+					}
+				}
+				if (fsync) {
+					channel.force(false);
+				}
+				records.add(count);
+				batches.increment();
+			} catch (IOException e) {
+				failures.add(count);
+				LOG.error("Failed to log {} game records to segment {}", count, segment, e);
+				discardPartialWrite(start);
+			}
+		}
+	}
+
+	/*
+	 * Replay stops at the first corrupt record of a segment, so a failed write
+	 * must not leave part of a record with more records appended after it:
+	 * truncate back to before the batch, or else move on to a new segment.
+	 */
+	private void discardPartialWrite(long start) {
+		if (start >= 0) {
+			try {
+				channel.truncate(start);
+				return;
+			} catch (IOException e) {
+				LOG.warn("Failed to truncate segment {} to {}, moving on to a new segment", segment, start, e);
+			}
+		}
+		try {
+			nextSegment();
+		} catch (IOException e) {
+			LOG.error("Failed to move on to segment {}", segment + 1, e);
+		}
+	}
+
+	/*
+	 * Called holding segmentLock.
+	 */
+	private void nextSegment() throws IOException {
+		FileChannel next = openSegment(segment + 1);
+		FileChannel previous = channel;
+		channel = next;
+		segment += 1;
+		try {
+			previous.close();
+		} catch (IOException e) {
+			LOG.warn("Failed to close segment {}", segment - 1, e);
+		}
+	}
+
+	/**
+	 * Writes a snapshot of all games, and deletes the log segments and snapshots
+	 * it replaces.
+	 *
+	 * @throws IOException If the snapshot cannot be written. The log is kept.
+	 */
+	public synchronized void compact() throws IOException {
+		long snapshotSegment;
+		synchronized (segmentLock) {
+			nextSegment();
+			snapshotSegment = segment;
+		}
+		/*
+		 * Every record written to the older segments is already applied to the
+		 * in-memory games, so the snapshot covers them. Records applied while
+		 * writing the snapshot are also in the new segment: replaying a record
+		 * twice leaves the same state.
+		 */
+		Path tmp = path(snapshotSegment, "tmp");
+		try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+			for (GameGuessModel model : games.games()) {
+				out.write(encodeCreate(model));
+			}
+			out.flush();
+			file.getFD().sync();
+		}
+		Files.move(tmp, path(snapshotSegment, "snapshot"), StandardCopyOption.ATOMIC_MOVE);
+		deleteBefore(snapshotSegment);
+	}
+
+	private void compactQuietly() {
+		try {
+			compact();
+		} catch (IOException | RuntimeException e) {
+			LOG.error("Failed to compact game log in {}", directory, e);
+		}
+	}
+
+	/*
+	 * Loads the latest snapshot and replays the segments after it.
+	 *
+	 * @return The segment number to write next.
+	 */
+	private long load() throws IOException {
+		TreeMap<Long, Path> logs = new TreeMap<>();
+		TreeMap<Long, Path> snapshots = new TreeMap<>();
+		List<Path> tmps = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			files.forEach(file -> {
+				Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+				if (!matcher.matches()) {
+					return;
+				}
+				long number = Long.parseLong(matcher.group(1));
+				if (matcher.group(2).equals("log")) {
+					logs.put(number, file);
+				} else if (matcher.group(2).equals("snapshot")) {
+					snapshots.put(number, file);
+				} else {
+					// snapshot not completed
+					tmps.add(file);
+				}
+			});
+		}
+		for (Path tmp : tmps) {
+			Files.deleteIfExists(tmp);
+		}
+		long start = 0;
+		Map<String, GameGuessModel> loaded = new LinkedHashMap<>();
+		if (!snapshots.isEmpty()) {
+			start = snapshots.lastKey();
+			replay(snapshots.lastEntry().getValue(), loaded);
+		}
+		for (Path log : logs.tailMap(start).values()) {
+			replay(log, loaded);
+		}
+		for (GameGuessModel model : loaded.values()) {
+			games.restore(model);
+		}
+		LOG.info("Loaded {} games from {}, snapshot={}, segments={}", loaded.size(), directory,
+				snapshots.isEmpty() ? "none" : start, logs.tailMap(start).keySet());
+		deleteBefore(start);
+
+		// never append to a segment that may end with a partial record
+		long last = Math.max(start, logs.isEmpty() ? 0 : logs.lastKey());
+		return logs.isEmpty() && snapshots.isEmpty() ? 0 : last + 1;
+	}
+
+	private void replay(Path file, Map<String, GameGuessModel> loaded) throws IOException {
+		CRC32 crc = new CRC32();
+		int count = 0;
+		try (InputStream stream = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+				DataInputStream in = new DataInputStream(stream)) {
+			while (true) {
+				byte[] payload;
+				try {
+					int length = in.readInt();
+					int checksum = in.readInt();
+					if (length < 0 || length > MAX_RECORD_LENGTH) {
+						LOG.warn("Invalid record length=[{}] in {} after {} records, ignoring the rest", length, file,
+								count);
+						return;
+					}
+					payload = new byte[length];
+					in.readFully(payload);
+					crc.reset();
+					crc.update(payload, 0, length);
+					if ((int) crc.getValue() != checksum) {
+						LOG.warn("Corrupt record in {} after {} records, ignoring the rest", file, count);
+						return;
+					}
+				} catch (EOFException e) {
+					// end of file, or a partial record at the end
+					return;
+				}
+				apply(payload, loaded);
+				count += 1;
+			}
+		}
+	}
+
+	private static void apply(byte[] payload, Map<String, GameGuessModel> loaded) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+		byte type = in.readByte();
+		String id = in.readUTF();
+		if (type == CREATE) {
+			GameGuessModel model = new GameGuessModel();
+			model.setId(id);
+			model.setCreatedAt(new Date(in.readLong()));
+			model.setModifiedAt(new Date(in.readLong()));
+			String original = in.readUTF();
+			String scramble = in.readUTF();
+			int size = in.readInt();
+			Map<String, Boolean> subWords = new LinkedHashMap<>();
+			for (int ix = 0; ix < size; ix += 1) {
+				String word = in.readUTF();
+				subWords.put(word, in.readBoolean());
+			}
+			model.setGameState(new GameState(original, scramble, subWords));
+			loaded.put(id, model);
+		} else if (type == GUESS) {
+			long time = in.readLong();
+			String word = in.readUTF();
+			GameGuessModel model = loaded.get(id);
+			if (model != null) {
+				model.getGameState().updateGuessWord(word);
+				model.setModifiedAt(new Date(time));
+			}
+		} else if (type == REMOVE) {
+			loaded.remove(id);
+		} else {
+			throw new IOException("Unknown record type=[" + type + "]");
+		}
+	}
+
+	/*
+	 * Payload: CREATE, id, createdAt, modifiedAt, original, scramble, number of
+	 * sub-words, then each sub-word and whether it is guessed.
+	 */
+	private static byte[] encodeCreate(GameGuessModel model) {
+		GameState state = model.getGameState();
+		Map<String, Boolean> subWords = state.getSubWords();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + subWords.size() * 12);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeByte(CREATE);
+			out.writeUTF(model.getId());
+			out.writeLong(time(model.getCreatedAt()));
+			out.writeLong(time(model.getModifiedAt()));
+			out.writeUTF(state.getOriginal());
+			out.writeUTF(state.getScramble());
+			out.writeInt(subWords.size());
+			for (Map.Entry<String, Boolean> entry : subWords.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeBoolean(entry.getValue());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return frame(bytes.toByteArray());
+	}
+
+	/*
+	 * Payload: GUESS, id, time of guess, word.
+	 */
+	private static byte[] encodeGuess(GameGuessModel model, String word) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeByte(GUESS);
+			out.writeUTF(model.getId());
+			out.writeLong(time(model.getModifiedAt()));
+			out.writeUTF(word);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return frame(bytes.toByteArray());
+	}
+
+	/*
+	 * Payload: REMOVE, id.
+	 */
+	private static byte[] encodeRemove(GameGuessModel model) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeByte(REMOVE);
+			out.writeUTF(model.getId());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return frame(bytes.toByteArray());
+	}
+
+	private static byte[] frame(byte[] payload) {
+		CRC32 crc = new CRC32();
+		crc.update(payload, 0, payload.length);
+		ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+		record.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+		return record.array();
+	}
+
+	private static long time(Date date) {
+		return date == null ? System.currentTimeMillis() : date.getTime();
+	}
+
+	/*
+	 * Package-private so that tests can inject write failures.
+	 */
+	FileChannel openSegment(long number) throws IOException {
+		return FileChannel.open(path(number, "log"), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+	}
+
+	private Path path(long number, String extension) {
+		return directory.resolve(String.format("games-%010d.%s", number, extension));
+	}
+
+	private void deleteBefore(long number) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+				if (matcher.matches() && Long.parseLong(matcher.group(1)) < number) {
+					Files.deleteIfExists(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return The number of records written to the log.
+	 */
+	public long getRecordCount() {
+		return records.sum();
+	}
+
+	/**
+	 * @return The number of batched writes, each one forced when `fsync`.
+	 */
+	public long getBatchCount() {
+		return batches.sum();
+	}
+
+	/**
+	 * @return The number of records that failed to be written.
+	 */
+	public long getFailureCount() {
+		return failures.sum();
+	}
+
+	/**
+	 * Writes the queued records, then a final snapshot, so that the next start
+	 * only has a snapshot to load.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		if (compactor != null) {
+			compactor.shutdownNow();
+		}
+		try {
+			queue.put(END);
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		compactQuietly();
+		synchronized (segmentLock) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				LOG.warn("Failed to close segment {}", segment, e);
+			}
+		}
+		games.close();
+	}
+
+	@Override
+	public String toString() {
+		return "directory=[" + directory + "], segment=[" + segment + "], records=[" + getRecordCount()
+				+ "], batches=[" + getBatchCount() + "], failures=[" + getFailureCount() + "], " + games;
+	}
+
+}
@@ -0,0 +1,42 @@
+package asia.fourtitude.interviewq.jumble.repository;
+
+import asia.fourtitude.interviewq.jumble.model.GameGuessModel;
+
+/**
+ * Store of the game boards/states played through the REST API, referenced by
+ * game `id`.
+ */
+public interface GameRepository {
+
+	/**
+	 * Adds a new game, or replaces the game of the same `id`.
+	 *
+	 * @param model The game, with `id` set.
+	 */
+	void save(GameGuessModel model);
+
+	/**
+	 * Finds a live game, and marks it as accessed (`modifiedAt`).
+	 *
+	 * @param id The game id.
+	 * @return The game, or null if not found (or no longer kept).
+	 */
+	GameGuessModel findById(String id);
+
+	/**
+	 * Records a correct guess, already applied to the state of a game returned
+	 * by {@link #findById(String)}. Stores that keep games by reference have
+	 * nothing to do.
+	 *
+	 * @param model The game.
+	 * @param word  The guessed word.
+	 */
+	default void recordGuess(GameGuessModel model, String word) {
+	}
+
+	/**
+	 * @return The number of games kept.
+	 */
+	int size();
+
+}
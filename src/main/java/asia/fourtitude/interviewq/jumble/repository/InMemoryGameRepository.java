@@ -0,0 +1,279 @@
+package asia.fourtitude.interviewq.jumble.repository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.model.GameGuessModel;
+
+/**
+ * In-memory game repository, bounded in time and size.
+ *
+ * Each access sets `modifiedAt`. A single background sweep, every
+ * `sweepInterval`, removes the games idle for longer than `idleTtl`, and the
+ * finished games (all words guessed) idle for longer than the shorter
+ * `finishedTtl`. When adding a game goes over `maxEntries`, a batch of games is
+ * evicted at once: finished games first, then the least recently accessed.
+ */
+public class InMemoryGameRepository implements GameRepository, AutoCloseable {
+
+	private final Map<String, GameGuessModel> games = new ConcurrentHashMap<>();
+
+	private final int maxEntries;
+
+	private final long idleTtlMillis;
+
+	private final long finishedTtlMillis;
+
+	private final Clock clock;
+
+	private final ScheduledExecutorService sweeper;
+
+	private final LongAdder idleEvictions = new LongAdder();
+
+	private final LongAdder finishedEvictions = new LongAdder();
+
+	private final LongAdder capacityEvictions = new LongAdder();
+
+	/*
+	 * Called with each game removed on expiry or over capacity, eg. to log the
+	 * removal.
+	 */
+	private volatile Consumer<GameGuessModel> evictionListener = model -> {
+	};
+
+	/**
+	 * @param maxEntries    The maximum number of games kept.
+	 * @param idleTtl       How long a game is kept since last accessed.
+	 * @param finishedTtl   How long a finished game is kept since last accessed.
+	 * @param sweepInterval How often the expired games are removed. Zero for no
+	 *                      background sweep (see {@link #sweep()}).
+	 */
+	public InMemoryGameRepository(int maxEntries, Duration idleTtl, Duration finishedTtl, Duration sweepInterval) {
+		this(maxEntries, idleTtl, finishedTtl, sweepInterval, Clock.systemUTC());
+	}
+
+	InMemoryGameRepository(int maxEntries, Duration idleTtl, Duration finishedTtl, Duration sweepInterval,
+			Clock clock) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("Invalid maxEntries=[" + maxEntries + "], expect positive integer");
+		}
+		this.maxEntries = maxEntries;
+		this.idleTtlMillis = idleTtl.toMillis();
+		this.finishedTtlMillis = Math.min(finishedTtl.toMillis(), idleTtlMillis);
+		this.clock = clock;
+		if (sweepInterval.isZero()) {
+			this.sweeper = null;
+		} else {
+			this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "game-sweeper");
+				thread.setDaemon(true);
+				return thread;
+			});
+			long period = sweepInterval.toMillis();
+			sweeper.scheduleAtFixedRate(this::sweep, period, period, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@Override
+	public void save(GameGuessModel model) {
+		Objects.requireNonNull(model.getId(), "id must not be null");
+		Date now = new Date(clock.millis());
+		if (model.getCreatedAt() == null) {
+			model.setCreatedAt(now);
+		}
+		model.setModifiedAt(now);
+		games.put(model.getId(), model);
+		if (games.size() > maxEntries) {
+			evictOverCapacity();
+		}
+	}
+
+	@Override
+	public GameGuessModel findById(String id) {
+		if (id == null) {
+			return null;
+		}
+		GameGuessModel model = games.get(id);
+		if (model == null) {
+			return null;
+		}
+		long now = clock.millis();
+		if (isExpired(model, now)) {
+			// not swept yet
+			if (games.remove(id, model)) {
+				evicted(model, now - lastAccess(model) > idleTtlMillis ? idleEvictions : finishedEvictions);
+			}
+			return null;
+		}
+		model.setModifiedAt(new Date(now));
+		return model;
+	}
+
+	/*
+	 * Adds a game as is, keeping its timestamps, eg. when loaded from disk.
+	 */
+	void restore(GameGuessModel model) {
+		games.put(model.getId(), model);
+		if (games.size() > maxEntries) {
+			evictOverCapacity();
+		}
+	}
+
+	void setEvictionListener(Consumer<GameGuessModel> evictionListener) {
+		this.evictionListener = Objects.requireNonNull(evictionListener, "evictionListener must not be null");
+	}
+
+	/*
+	 * Finds a game without marking it as accessed, expired or not.
+	 */
+	GameGuessModel peek(String id) {
+		return games.get(id);
+	}
+
+	/*
+	 * Live view of all games.
+	 */
+	Collection<GameGuessModel> games() {
+		return Collections.unmodifiableCollection(games.values());
+	}
+
+	@Override
+	public int size() {
+		return games.size();
+	}
+
+	/**
+	 * Removes the expired games, in one pass over all games.
+	 */
+	public void sweep() {
+		long now = clock.millis();
+		for (Iterator<GameGuessModel> it = games.values().iterator(); it.hasNext();) {
+			GameGuessModel model = it.next();
+			if (now - lastAccess(model) > idleTtlMillis) {
+				it.remove();
+				evicted(model, idleEvictions);
+			} else if (isFinished(model) && now - lastAccess(model) > finishedTtlMillis) {
+				it.remove();
+				evicted(model, finishedEvictions);
+			}
+		}
+	}
+
+	/*
+	 * Evicts down to 99% of maxEntries, so that a full repository pays for
+	 * sorting once per batch of adds instead of on every add.
+	 */
+	private synchronized void evictOverCapacity() {
+		int target = maxEntries - Math.max(1, maxEntries / 100);
+		if (games.size() <= maxEntries) {
+			return;
+		}
+		// snapshot the sort keys, as games keep being accessed while sorting
+		List<Candidate> candidates = new ArrayList<>(games.size());
+		for (GameGuessModel model : games.values()) {
+			candidates.add(new Candidate(model));
+		}
+		candidates.sort(Comparator.comparing((Candidate candidate) -> !candidate.finished)
+				.thenComparingLong(candidate -> candidate.lastAccess));
+		for (Candidate candidate : candidates) {
+			if (games.size() <= target) {
+				break;
+			}
+			if (games.remove(candidate.model.getId(), candidate.model)) {
+				evicted(candidate.model, capacityEvictions);
+			}
+		}
+	}
+
+	private void evicted(GameGuessModel model, LongAdder evictions) {
+		evictions.increment();
+		evictionListener.accept(model);
+	}
+
+	private static final class Candidate {
+
+		final GameGuessModel model;
+
+		final boolean finished;
+
+		final long lastAccess;
+
+		Candidate(GameGuessModel model) {
+			this.model = model;
+			this.finished = isFinished(model);
+			this.lastAccess = lastAccess(model);
+		}
+
+	}
+
+	private boolean isExpired(GameGuessModel model, long now) {
+		long idle = now - lastAccess(model);
+		return idle > idleTtlMillis || (idle > finishedTtlMillis && isFinished(model));
+	}
+
+	private static long lastAccess(GameGuessModel model) {
+		Date modifiedAt = model.getModifiedAt();
+		return modifiedAt == null ? 0 : modifiedAt.getTime();
+	}
+
+	private static boolean isFinished(GameGuessModel model) {
+		GameState state = model.getGameState();
+		return state != null && state.getRemainingWords() == 0;
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * @return The number of games removed for being idle longer than idleTtl.
+	 */
+	public long getIdleEvictionCount() {
+		return idleEvictions.sum();
+	}
+
+	/**
+	 * @return The number of finished games removed after finishedTtl.
+	 */
+	public long getFinishedEvictionCount() {
+		return finishedEvictions.sum();
+	}
+
+	/**
+	 * @return The number of games removed to stay within maxEntries.
+	 */
+	public long getCapacityEvictionCount() {
+		return capacityEvictions.sum();
+	}
+
+	@Override
+	public void close() {
+		if (sweeper != null) {
+			sweeper.shutdownNow();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "size=[" + size() + "], maxEntries=[" + maxEntries + "], idleEvictions=[" + getIdleEvictionCount()
+				+ "], finishedEvictions=[" + getFinishedEvictionCount() + "], capacityEvictions=["
+				+ getCapacityEvictionCount() + "]";
+	}
+
+}
@@ -1,9 +1,14 @@
 package asia.fourtitude.interviewq.jumble;
 
+import java.time.Duration;
+
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 
+import asia.fourtitude.interviewq.jumble.core.GameStatePool;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.repository.GameRepository;
+import asia.fourtitude.interviewq.jumble.repository.InMemoryGameRepository;
 
 @TestConfiguration
 public class TestConfig {
@@ -11,4 +16,14 @@ public class TestConfig {
 	JumbleEngine jumbleEngine() {
 		return new JumbleEngine();
 	}
+
+	@Bean(destroyMethod = "close")
+	GameStatePool gameStatePool(JumbleEngine jumbleEngine) {
+		return new GameStatePool(jumbleEngine, 2, 1);
+	}
+
+	@Bean(destroyMethod = "close")
+	GameRepository gameRepository() {
+		return new InMemoryGameRepository(1000, Duration.ofMinutes(30), Duration.ofMinutes(1), Duration.ZERO);
+	}
 }
@@ -8,7 +8,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +28,7 @@ import com.jayway.jsonpath.JsonPath;
 
 import asia.fourtitude.interviewq.jumble.TestConfig;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.model.GameGuessBatchInput;
 import asia.fourtitude.interviewq.jumble.model.GameGuessInput;
 
 @WebMvcTest(GameApiController.class)
@@ -383,4 +387,122 @@ class GameApiControllerTest {
 
 	}
 
+	@Test
+	void givenCreateNewGame_whenSubmitBatch_thenOutcomePerWord() throws Exception {
+		/*
+		 * Doing HTTP POST "/api/game/guess/batch"
+		 *
+		 * Input: JSON request body
+		 * a) `id` of previously created game
+		 * b) `words` of a correct word, a wrong word, and the correct word again
+		 *
+		 * Expect: Assert these
+		 * a) HTTP status == 200
+		 * b) `result` equals "Guessed correctly."
+		 * c) `outcomes` in order: CORRECT, INCORRECT, ALREADY_GUESSED
+		 * d) `remainingWords` decremented by 1, `guessedWords` holds the correct word
+		 */
+
+		MvcResult newGameResult = mvc
+				.perform(MockMvcRequestBuilders.get("/api/game/new"))
+				.andReturn();
+
+		String id = JsonPath.read(newGameResult.getResponse().getContentAsString(), "$.id");
+		String word = JsonPath.read(newGameResult.getResponse().getContentAsString(), "$.original_word");
+		int totalWords = JsonPath.read(newGameResult.getResponse().getContentAsString(), "$.total_words");
+		String guessedWord = jumbleEngine.generateSubWords(word, 3).iterator().next();
+
+		mvc
+				.perform(
+						MockMvcRequestBuilders.post("/api/game/guess/batch")
+								.contentType(MediaType.APPLICATION_JSON)
+								.content(OM.writeValueAsString(new GameGuessBatchInput() {
+									{
+										setId(id);
+										setWords(Arrays.asList(guessedWord, "aaaaaaa", guessedWord));
+									}
+								})))
+				.andExpect(status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.result", is("Guessed correctly.")))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.id", is(id)))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.guess_word").doesNotExist())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.total_words", is(totalWords)))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.remaining_words", is(totalWords - 1)))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.guessed_words", hasSize(1)))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.guessed_words[0]", is(guessedWord)))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.outcomes", hasSize(3)))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.outcomes[0].word", is(guessedWord)))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.outcomes[0].outcome", is("CORRECT")))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.outcomes[1].outcome", is("INCORRECT")))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.outcomes[2].outcome", is("ALREADY_GUESSED")));
+	}
+
+	@Test
+	void givenCreateNewGame_whenSubmitAllWordsInBatch_thenAllGuessed() throws Exception {
+		MvcResult newGameResult = mvc
+				.perform(MockMvcRequestBuilders.get("/api/game/new"))
+				.andReturn();
+
+		String id = JsonPath.read(newGameResult.getResponse().getContentAsString(), "$.id");
+		String word = JsonPath.read(newGameResult.getResponse().getContentAsString(), "$.original_word");
+		int totalWords = JsonPath.read(newGameResult.getResponse().getContentAsString(), "$.total_words");
+		List<String> words = new ArrayList<>(jumbleEngine.generateSubWords(word, 3));
+
+		mvc
+				.perform(
+						MockMvcRequestBuilders.post("/api/game/guess/batch")
+								.contentType(MediaType.APPLICATION_JSON)
+								.content(OM.writeValueAsString(new GameGuessBatchInput() {
+									{
+										setId(id);
+										setWords(words);
+									}
+								})))
+				.andExpect(status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.result", is("All words guessed.")))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.remaining_words", is(0)))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.guessed_words", hasSize(totalWords)))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.outcomes", hasSize(words.size())));
+	}
+
+	@Test
+	void givenInvalidBatch_whenPlayGameBatch_thenRejected() throws Exception {
+		mvc
+				.perform(
+						MockMvcRequestBuilders.post("/api/game/guess/batch")
+								.contentType(MediaType.APPLICATION_JSON)
+								.content(OM.writeValueAsString(new GameGuessBatchInput() {
+									{
+										setId("test12345");
+										setWords(Collections.emptyList());
+									}
+								})))
+				.andExpect(status().isBadRequest());
+
+		mvc
+				.perform(
+						MockMvcRequestBuilders.post("/api/game/guess/batch")
+								.contentType(MediaType.APPLICATION_JSON)
+								.content(OM.writeValueAsString(new GameGuessBatchInput() {
+									{
+										setId("test12345");
+										setWords(Collections.nCopies(GameApiController.MAX_BATCH_WORDS + 1, "aaa"));
+									}
+								})))
+				.andExpect(status().isBadRequest());
+
+		mvc
+				.perform(
+						MockMvcRequestBuilders.post("/api/game/guess/batch")
+								.contentType(MediaType.APPLICATION_JSON)
+								.content(OM.writeValueAsString(new GameGuessBatchInput() {
+									{
+										setId("test12345");
+										setWords(Arrays.asList("aaa"));
+									}
+								})))
+				.andExpect(status().isNotFound())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.result", is("Game board/state not found")));
+	}
+
 }
@@ -0,0 +1,110 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+
+import asia.fourtitude.interviewq.jumble.AsyncConfig;
+import asia.fourtitude.interviewq.jumble.TestConfig;
+import asia.fourtitude.interviewq.jumble.model.GameGuessBatchInput;
+import asia.fourtitude.interviewq.jumble.model.GameGuessInput;
+
+@WebMvcTest(controllers = { GameAsyncApiController.class, GameApiController.class },
+		properties = "jumble.async.enabled=true")
+@Import({ TestConfig.class, AsyncConfig.class })
+class GameAsyncApiControllerTest {
+
+	static final ObjectMapper OM = new ObjectMapper();
+
+	@Autowired
+	private MockMvc mvc;
+
+	/*
+	 * Performs the request, then the dispatch of its asynchronous result.
+	 */
+	ResultActions perform(RequestBuilder request) throws Exception {
+		MvcResult started = mvc.perform(request)
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		return mvc.perform(asyncDispatch(started));
+	}
+
+	@Test
+	void whenCreateNewGame_thenSuccess() throws Exception {
+		perform(get("/api/async/game/new"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.result", is("Created new game.")))
+				.andExpect(jsonPath("$.id", notNullValue()))
+				.andExpect(jsonPath("$.original_word", notNullValue()))
+				.andExpect(jsonPath("$.scramble_word", notNullValue()))
+				.andExpect(jsonPath("$.guessed_words", hasSize(0)));
+	}
+
+	@Test
+	void givenCreateNewGame_whenSubmitWords_thenSameAsBlocking() throws Exception {
+		MvcResult created = perform(get("/api/async/game/new")).andReturn();
+		String id = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+		String original = JsonPath.read(created.getResponse().getContentAsString(), "$.original_word");
+
+		GameGuessInput input = new GameGuessInput();
+		input.setId(id);
+		input.setWord("zzz");
+		perform(post("/api/async/game/guess")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(OM.writeValueAsString(input)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.result", is("Guessed incorrectly.")))
+				.andExpect(jsonPath("$.original_word", is(original)));
+
+		GameGuessBatchInput batch = new GameGuessBatchInput();
+		batch.setId(id);
+		batch.setWords(Arrays.asList("zzz", "qqq"));
+		perform(post("/api/async/game/guess/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(OM.writeValueAsString(batch)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.outcomes", hasSize(2)));
+
+		input.setId("unknown");
+		perform(post("/api/async/game/guess")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(OM.writeValueAsString(input)))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.result", is("Game board/state not found")));
+	}
+
+	@Test
+	void givenFullExecutor_whenSubmit_thenServiceUnavailable() throws Exception {
+		CompletableFuture<ResponseEntity<String>> response = ComputeTasks.submit(task -> {
+			throw new RejectedExecutionException("full");
+		}, () -> ResponseEntity.ok("done"));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.get().getStatusCode());
+	}
+
+}
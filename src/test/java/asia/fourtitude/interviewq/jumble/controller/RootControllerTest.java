@@ -12,6 +12,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+
 @SpringBootTest
 @AutoConfigureMockMvc
 class RootControllerTest {
@@ -171,6 +173,26 @@ class RootControllerTest {
                 .andExpect(content().string(containsString(result)));
     }
 
+    @Test
+    void givenValidPattern_whenExecPattern_thenSuccess() throws Exception {
+        this.mockMvc.perform(post("/pattern")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("pattern", " tom?to "))
+                .andExpect(view().name("pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<p>The number of words: <span>1</span>")));
+    }
+
+    @Test
+    void givenInvalidPattern_whenExecPattern_thenFailure() throws Exception {
+        this.mockMvc.perform(post("/pattern")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("pattern", "tom-to"))
+                .andExpect(view().name("pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Invalid pattern")));
+    }
+
     @Test
     void givenStartChar_whenExecSearch_thenSuccess() throws Exception {
         this.mockMvc.perform(post("/search")
@@ -375,4 +397,16 @@ class RootControllerTest {
                 .andExpect(content().string(containsString("<label id=\"iptWordFeedback\" class=\"col-sm-4 text-danger is-invalid\">")));
     }
 
+    @Test
+    void givenWordOverMaxLength_whenExecSubWords_thenFailure() throws Exception {
+        String word = "abcdefghijklmnopqrstuvwxyzabcdefg";
+        this.mockMvc.perform(post("/subWords")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("word", word))
+                .andExpect(view().name("subWords"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Invalid word, expect at most "
+                        + JumbleEngine.MAX_RACK_LENGTH + " letters")));
+    }
+
 }
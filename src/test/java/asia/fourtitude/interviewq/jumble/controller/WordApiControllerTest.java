@@ -0,0 +1,117 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import asia.fourtitude.interviewq.jumble.TestConfig;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.WordOrder;
+
+@WebMvcTest(WordApiController.class)
+@Import(TestConfig.class)
+class WordApiControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    JumbleEngine jumbleEngine;
+
+    @Test
+    void givenLimit_whenAutoComplete_thenPagesWithCursor() throws Exception {
+        int total = jumbleEngine.countWordsMatchingPrefix("con");
+
+        MvcResult first = mvc.perform(get("/api/word/con").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(WordApiController.TOTAL_COUNT_HEADER, String.valueOf(total)))
+                .andExpect(header().exists(WordApiController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0]", is("con")))
+                .andReturn();
+
+        String cursor = first.getResponse().getHeader(WordApiController.NEXT_CURSOR_HEADER);
+        List<String> words = new ArrayList<>(jumbleEngine.wordsMatchingPrefix("con"));
+        String lastWord = words.get(4);
+        String nextWord = words.get(5);
+        mvc.perform(get("/api/word/con").param("limit", "5").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0]", is(nextWord)))
+                .andExpect(jsonPath("$", not(hasItem(lastWord))));
+    }
+
+    @Test
+    void givenLastPage_whenAutoComplete_thenNoCursor() throws Exception {
+        mvc.perform(get("/api/word/awes").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(WordApiController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$", hasSize(jumbleEngine.countWordsMatchingPrefix("awes"))));
+    }
+
+    @Test
+    void givenNoLimit_whenAutoComplete_thenAllWords() throws Exception {
+        int total = jumbleEngine.countWordsMatchingPrefix("con");
+        mvc.perform(get("/api/word/con"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(WordApiController.TOTAL_COUNT_HEADER, String.valueOf(total)))
+                .andExpect(header().doesNotExist(WordApiController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$", hasSize(total)));
+    }
+
+    @Test
+    void givenCountOnly_whenAutoComplete_thenCountWithoutWords() throws Exception {
+        mvc.perform(get("/api/word/con").param("countOnly", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(WordApiController.TOTAL_COUNT_HEADER,
+                        String.valueOf(jumbleEngine.countWordsMatchingPrefix("con"))))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void givenOrderByLength_whenAutoComplete_thenShortestFirst() throws Exception {
+        mvc.perform(get("/api/word/awe").param("order", "LENGTH").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]", is("awe")))
+                .andExpect(jsonPath("$[1]", hasLength(4)))
+                .andExpect(jsonPath("$[2]", hasLength(4)));
+    }
+
+    @Test
+    void givenInvalidLimitOrCursor_whenAutoComplete_thenBadRequest() throws Exception {
+        mvc.perform(get("/api/word/con").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/word/con").param("limit", "1001"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/word/con").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+
+        String cursor = WordApiController.encodeCursor("con", WordOrder.LENGTH);
+        mvc.perform(get("/api/word/con").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenPattern_whenSearchByPattern_thenMatchingWords() throws Exception {
+        mvc.perform(get("/api/word").param("pattern", "a?p*e").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", contains("alphabetise", "alphabetize", "alpine")));
+
+        mvc.perform(get("/api/word").param("pattern", "a-e"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mvc.perform(get("/api/word").param("pattern", "a*").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+}
@@ -0,0 +1,59 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import asia.fourtitude.interviewq.jumble.AsyncConfig;
+import asia.fourtitude.interviewq.jumble.TestConfig;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+
+@WebMvcTest(controllers = { WordAsyncApiController.class, WordApiController.class },
+        properties = "jumble.async.enabled=true")
+@Import({ TestConfig.class, AsyncConfig.class })
+class WordAsyncApiControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    JumbleEngine jumbleEngine;
+
+    ResultActions perform(RequestBuilder request) throws Exception {
+        MvcResult started = mvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started));
+    }
+
+    @Test
+    void givenPrefix_whenAutoComplete_thenSameAsBlocking() throws Exception {
+        perform(get("/api/async/word/con").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(WordApiController.TOTAL_COUNT_HEADER,
+                        String.valueOf(jumbleEngine.countWordsMatchingPrefix("con"))))
+                .andExpect(header().exists(WordApiController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0]", is("con")));
+
+        perform(get("/api/async/word/con").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenPattern_whenSearchByPattern_thenMatchingWords() throws Exception {
+        perform(get("/api/async/word").param("pattern", "a?p*e").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", contains("alphabetise", "alphabetize", "alpine")));
+    }
+
+}
@@ -0,0 +1,74 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BinaryDictionaryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void givenBundled_whenWriteThenOpen_thenSameQueries() throws IOException {
+        Dictionary heap = Dictionary.load();
+        Path path = tempDir.resolve("words.dict");
+        BinaryDictionary.write(heap, path);
+        Dictionary mapped = BinaryDictionary.open(path);
+
+        assertEquals(heap.size(), mapped.size(), "size");
+        assertEquals(heap.maxLength(), mapped.maxLength(), "maxLength");
+        assertEquals(heap.words(), mapped.words(), "words");
+        for (String word : Arrays.asList("a", "Yellow", "zyzzyva", "fusion")) {
+            assertEquals(heap.indexOf(word), mapped.indexOf(word), "word=" + word);
+        }
+        assertEquals(-1, mapped.indexOf("qwertyuio"), "word=qwertyuio");
+        assertEquals(heap.wordsWithPrefix("inter"), mapped.wordsWithPrefix("inter"), "prefix=inter");
+        assertEquals(heap.wordsWithSuffix("ness"), mapped.wordsWithSuffix("ness"), "suffix=ness");
+        assertEquals(heap.search('q', 'k', null), mapped.search('q', 'k', null), "start=q;end=k");
+        assertEquals(heap.search(null, 'z', 5), mapped.search(null, 'z', 5), "end=z;length=5");
+        assertEquals(heap.wordsOfLength(7), mapped.wordsOfLength(7), "length=7");
+        assertEquals(heap.subWords("listens", 3), mapped.subWords("listens", 3), "letters=listens");
+        assertEquals(heap.palindromes(), mapped.palindromes(), "palindromes");
+        assertEquals(heap.semordnilaps(), mapped.semordnilaps(), "semordnilaps");
+    }
+
+    @Test
+    void givenNonAscii_whenWriteThenOpen_thenDecoded() throws IOException {
+        Dictionary heap = Dictionary.of(Arrays.asList("caf\u00e9", "cafe", "na\u00efve", "\u00e9clair"));
+        Path path = tempDir.resolve("accents.dict");
+        BinaryDictionary.write(heap, path);
+        Dictionary mapped = BinaryDictionary.open(path);
+
+        assertEquals(heap.words(), mapped.words(), "words");
+        assertTrue(mapped.contains("CAF\u00c9"), "word=CAF\u00c9");
+        assertEquals(Arrays.asList("cafe", "caf\u00e9"), mapped.wordsWithPrefix("caf"), "prefix=caf");
+    }
+
+    @Test
+    void givenTextFile_whenOpen_thenRejected() throws IOException {
+        Path path = Files.write(tempDir.resolve("words.txt"), Arrays.asList("apple", "banana", "cherry", "durian",
+                "elderberry", "fig", "grape", "honeydew", "kiwi", "lemon", "mango", "nectarine", "orange", "papaya",
+                "quince", "raspberry", "strawberry", "tangerine", "watermelon"));
+        assertThrows(UncheckedIOException.class, () -> BinaryDictionary.open(path));
+    }
+
+    @Test
+    void givenOlderVersion_whenOpen_thenRejected() throws IOException {
+        Path path = tempDir.resolve("old.dict");
+        BinaryDictionary.write(Dictionary.of(Arrays.asList("apple", "banana")), path);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[4] = (byte) (BinaryDictionary.VERSION - 1);
+        Files.write(path, bytes);
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> BinaryDictionary.open(path));
+        assertTrue(e.getMessage().contains("Unsupported version"), e.getMessage());
+    }
+
+}
@@ -0,0 +1,159 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class DictionaryTest {
+
+    @Test
+    void whenLoadBundled_thenAllWords() {
+        Dictionary dictionary = Dictionary.load();
+        assertEquals(64662, dictionary.size(), "size");
+        assertEquals("a", dictionary.get(0), "first");
+    }
+
+    @Test
+    void givenMixedInput_whenOf_thenNormalized() {
+        Dictionary dictionary = Dictionary.of(Arrays.asList("Pear", " apple ", "", null, "APPLE", "banana"));
+        assertEquals(Arrays.asList("apple", "banana", "pear"), dictionary.words());
+    }
+
+    @Test
+    void whenIndexOf_thenCaseInsensitive() {
+        Dictionary dictionary = Dictionary.of(Arrays.asList("apple", "banana", "pear"));
+        assertEquals(1, dictionary.indexOf("BaNaNa"), "word=BaNaNa");
+        assertEquals(2, dictionary.indexOf(new StringBuilder("pear")), "word=pear");
+        assertEquals(-1, dictionary.indexOf("pea"), "word=pea");
+        assertEquals(-1, dictionary.indexOf(""), "word=<EMPTY>");
+        assertEquals(-1, dictionary.indexOf(null), "word=null");
+    }
+
+    @Test
+    void whenWordsWithPrefix_thenSortedRange() {
+        Dictionary dictionary = Dictionary.of(Arrays.asList("pen", "pend", "apple", "penny", "pe", "pet", "pin"));
+        assertEquals(Arrays.asList("pen", "pend", "penny"), dictionary.wordsWithPrefix("PEN"), "prefix=PEN");
+        assertEquals(5, dictionary.countWithPrefix("pe"), "prefix=pe");
+        assertEquals(0, dictionary.wordsWithPrefix("pex").size(), "prefix=pex");
+        assertEquals(7, dictionary.wordsWithPrefix("").size(), "prefix=<EMPTY>");
+    }
+
+    @Test
+    void whenWordsWithPrefixPaged_thenPagesInOrder() {
+        Dictionary dictionary = Dictionary.of(Arrays.asList("pen", "pend", "apple", "penny", "pe", "pet", "pin",
+                "pens", "pent", "pennant"));
+        assertEquals(Arrays.asList("pe", "pen"), dictionary.wordsWithPrefix("pe", false, null, 2), "page 1");
+        assertEquals(Arrays.asList("pend", "pennant"), dictionary.wordsWithPrefix("pe", false, "pen", 2), "page 2");
+        assertEquals(Arrays.asList("pet"), dictionary.wordsWithPrefix("pe", false, "pent", 2), "last page");
+        assertEquals(Arrays.asList(), dictionary.wordsWithPrefix("pe", false, "pet", 2), "after last page");
+        assertEquals(Arrays.asList(), dictionary.wordsWithPrefix("pe", false, null, 0), "limit=0");
+        assertEquals(8, dictionary.wordsWithPrefix("PE", false, null, Integer.MAX_VALUE).size(), "all");
+    }
+
+    @Test
+    void whenWordsWithPrefixByLength_thenShortestFirst() {
+        Dictionary dictionary = Dictionary.of(Arrays.asList("pen", "pend", "apple", "penny", "pe", "pet", "pin",
+                "pens", "pent", "pennant"));
+        assertEquals(Arrays.asList("pen", "pet", "pend", "pens", "pent", "penny", "pennant"),
+                dictionary.wordsWithPrefix("pe", true, "pe", 10), "after pe");
+        assertEquals(Arrays.asList("pe", "pen", "pet"), dictionary.wordsWithPrefix("pe", true, null, 3), "page 1");
+        assertEquals(Arrays.asList("pend", "pens", "pent"), dictionary.wordsWithPrefix("pe", true, "pet", 3),
+                "page 2, next length");
+        assertEquals(Arrays.asList("pent", "penny"), dictionary.wordsWithPrefix("pe", true, "pens", 2),
+                "page within length");
+        assertEquals(Arrays.asList("pennant"), dictionary.wordsWithPrefix("PEN", true, "penny", 3), "last page");
+    }
+
+    @Test
+    void whenWordsWithSuffix_thenSortedMatches() {
+        Dictionary dictionary = Dictionary.of(Arrays.asList("sing", "ring", "bring", "ng", "rang", "wing", "zip"));
+        assertEquals(Arrays.asList("bring", "ring"), dictionary.wordsWithSuffix("RiNg"), "suffix=RiNg");
+        assertEquals(6, dictionary.wordsWithSuffix("ng").size(), "suffix=ng");
+        assertEquals(6, dictionary.countWithSuffix("g"), "suffix=g");
+        assertEquals(0, dictionary.countWithSuffix("xing"), "suffix=xing");
+    }
+
+    @Test
+    void whenSearch_thenBucketOrder() {
+        Dictionary dictionary = Dictionary.of(Arrays.asList("tat", "bat", "tot", "to", "toast", "tea", "a"));
+        assertEquals(Arrays.asList("tea", "to", "tat", "tot", "toast"), dictionary.search('T', null, null), "start=T");
+        assertEquals(Arrays.asList("bat", "tat", "tot", "toast"), dictionary.search(null, 't', null), "end=t");
+        assertEquals(Arrays.asList("tat", "tot"), dictionary.search('t', 't', 3), "start=t;end=t;length=3");
+        assertEquals(Arrays.asList("a"), dictionary.search(null, null, 1), "length=1");
+        assertEquals(0, dictionary.search('$', null, null).size(), "start=<PUNCT>");
+        assertEquals(0, dictionary.search('t', null, 99).size(), "start=t;length=99");
+    }
+
+    @Test
+    void whenWordsMatching_thenGlobSemantics() {
+        Dictionary dictionary = Dictionary.of(Arrays.asList("ample", "apple", "apse", "ape", "axe", "maple", "apples",
+                "pale", "a"));
+        assertEquals(Arrays.asList("ample", "apple"), dictionary.wordsMatching("a?p*e", 10), "a?p*e");
+        assertEquals(Arrays.asList("ample", "ape", "apple", "apse", "axe"), dictionary.wordsMatching("A*E", 10),
+                "A*E");
+        assertEquals(Arrays.asList("ape", "axe"), dictionary.wordsMatching("a?e", 10), "a?e, exact length");
+        assertEquals(Arrays.asList("ample", "apple", "maple", "pale"), dictionary.wordsMatching("*le", 10), "*le");
+        assertEquals(Arrays.asList("ample", "apple", "apples", "maple"), dictionary.wordsMatching("*pl*", 10), "*pl*");
+        assertEquals(Arrays.asList("apple"), dictionary.wordsMatching("apple", 10), "no wildcard");
+        assertEquals(Arrays.asList("a"), dictionary.wordsMatching("a**", 10).subList(0, 1), "** as *");
+        assertEquals(dictionary.words(), dictionary.wordsMatching("*", 100), "*");
+        assertEquals(0, dictionary.wordsMatching("??????????", 10).size(), "longer than any word");
+        assertEquals(0, dictionary.wordsMatching("a*", 0).size(), "limit=0");
+        assertThrows(IllegalArgumentException.class, () -> dictionary.wordsMatching("a-e", 10));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.wordsMatching("", 10));
+    }
+
+    @Test
+    void whenWordsMatchingWithLimit_thenSameAsFullScan() {
+        Dictionary dictionary = Dictionary.load();
+        for (String pattern : Arrays.asList("a?p*e", "*tion", "?a?e", "s*s", "*q*", "un*able", "c?t", "*")) {
+            String regex = pattern.replace("?", ".").replace("*", ".*");
+            List<String> expected = dictionary.words().stream().filter(word -> word.matches(regex))
+                    .collect(Collectors.toList());
+            assertEquals(expected, dictionary.wordsMatching(pattern, Integer.MAX_VALUE), pattern);
+            assertEquals(expected.subList(0, Math.min(5, expected.size())), dictionary.wordsMatching(pattern, 5),
+                    pattern + ", limit=5");
+        }
+    }
+
+    @Test
+    void whenSubWords_thenSameAsFullScan() {
+        Dictionary dictionary = Dictionary.load();
+        for (String rack : Arrays.asList("abcdefghijklmnopqrstuvwxyz", "uncharacteristically", "aaabbbcccdddeeefff",
+                "yellow", "q")) {
+            for (int minLength : new int[] { 1, 3, 8, 25 }) {
+                List<String> expected = dictionary.words().stream()
+                        .filter(word -> word.length() >= minLength && isSubMultiset(word, rack))
+                        .collect(Collectors.toList());
+                assertEquals(expected, dictionary.subWords(rack, minLength), rack + ", minLength=" + minLength);
+            }
+        }
+        Dictionary shortWords = Dictionary.of(Arrays.asList("ab", "abc"));
+        assertEquals(Arrays.asList(), shortWords.subWords("abcdefgh", 4), "minLength over longest word");
+        assertEquals(Arrays.asList(), Dictionary.of(Arrays.asList()).subWords("abc", 1), "empty dictionary");
+    }
+
+    static boolean isSubMultiset(String word, String rack) {
+        int[] counts = new int[128];
+        for (char letter : rack.toCharArray()) {
+            counts[letter] += 1;
+        }
+        for (char letter : word.toCharArray()) {
+            if (letter >= counts.length || --counts[letter] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Test
+    void whenModifyWords_thenRejected() {
+        Dictionary dictionary = Dictionary.of(Arrays.asList("apple"));
+        assertThrows(UnsupportedOperationException.class, () -> { dictionary.words().set(0, "pear"); });
+    }
+
+}
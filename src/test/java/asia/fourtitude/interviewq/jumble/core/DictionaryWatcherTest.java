@@ -0,0 +1,89 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+class DictionaryWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    static Dictionary load(Path file) {
+        return Dictionary.load(new FileSystemResource(file));
+    }
+
+    Path write(String name, String... words) throws IOException {
+        Path file = directory.resolve(name);
+        Files.write(file, Arrays.asList(words), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    void whenReload_thenEngineUsesNewDictionary() throws IOException {
+        Path file = write("words.txt", "listen", "silent", "tin");
+        JumbleEngine engine = new JumbleEngine(load(file));
+        GameState game = engine.createGameState(6, 3);
+        assertTrue(engine.generateSubWords("listen", 3).contains("tin"), "before");
+
+        write("words.txt", "listen", "lens", "tinsel");
+        try (DictionaryWatcher watcher = new DictionaryWatcher(file, DictionaryWatcherTest::load, engine,
+                Duration.ofHours(1))) {
+            assertTrue(watcher.reload(), "reload");
+            assertEquals(1, watcher.getReloadCount(), "reloads");
+        }
+        assertTrue(engine.exists("lens"), "exists(lens)");
+        assertFalse(engine.exists("tin"), "exists(tin)");
+        assertEquals(Arrays.asList("lens", "tinsel"), engine.generateSubWords("listen", 3), "after, not cached");
+
+        // the game keeps the words it was created with
+        assertEquals(2, game.getTotalWords(), "totalWords");
+        assertTrue(game.updateGuessWord("tin"), "guess tin");
+    }
+
+    @Test
+    void givenInvalidFile_whenReload_thenPreviousDictionaryKept() throws IOException {
+        Path file = write("words.dict", "listen");
+        JumbleEngine engine = new JumbleEngine(Dictionary.of(Arrays.asList("listen", "tin")));
+        try (DictionaryWatcher watcher = new DictionaryWatcher(file, BinaryDictionary::open, engine,
+                Duration.ofHours(1))) {
+            assertFalse(watcher.reload(), "reload");
+            assertEquals(1, watcher.getFailureCount(), "failures");
+        }
+        assertTrue(engine.exists("tin"), "exists(tin)");
+    }
+
+    @Test
+    void whenFileReplaced_thenReloaded() throws IOException, InterruptedException {
+        Path file = write("words.txt", "listen", "tin");
+        JumbleEngine engine = new JumbleEngine(load(file));
+        try (DictionaryWatcher watcher = new DictionaryWatcher(file, DictionaryWatcherTest::load, engine,
+                Duration.ofMillis(50))) {
+            Path next = write("words.txt.tmp", "listen", "lens");
+            Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            // the watch service may poll, eg. every 2 seconds on some platforms
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (!engine.exists("lens") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertTrue(engine.exists("lens"), "exists(lens)");
+            assertFalse(engine.exists("tin"), "exists(tin)");
+            assertTrue(watcher.getReloadCount() >= 1, "reloads");
+        }
+        List<String> words = engine.getDictionary().words();
+        assertEquals(Arrays.asList("lens", "listen"), words);
+    }
+
+}
@@ -0,0 +1,77 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class GameStatePoolTest {
+
+    static final JumbleEngine ENGINE = new JumbleEngine();
+
+    static void awaitReady(GameStatePool pool, int length, int minLength, int ready) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.getReadyCount(length, minLength) < ready && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(ready, pool.getReadyCount(length, minLength), "ready");
+    }
+
+    @Test
+    void givenPrefilled_whenTake_thenFromPoolAndRefilled() throws InterruptedException {
+        try (GameStatePool pool = new GameStatePool(ENGINE, 3, 1)) {
+            pool.prefill(6, 3);
+            awaitReady(pool, 6, 3, 3);
+
+            GameState state = pool.take(6, 3);
+            assertEquals(6, state.getOriginal().length(), "original.length");
+            assertFalse(state.getSubWords().isEmpty(), "subWords");
+            assertEquals(1, pool.getHitCount(), "hits");
+            assertEquals(0, pool.getMissCount(), "misses");
+
+            awaitReady(pool, 6, 3, 3);
+            assertEquals(0, pool.getReadyCount(7, 3), "ready(7, 3)");
+        }
+    }
+
+    @Test
+    void givenDictionaryReplaced_whenTake_thenPooledStatesDiscarded() throws InterruptedException {
+        JumbleEngine engine = new JumbleEngine(Dictionary.of(Arrays.asList("listen", "silent", "tin", "list")));
+        try (GameStatePool pool = new GameStatePool(engine, 3, 1)) {
+            pool.prefill(6, 3);
+            awaitReady(pool, 6, 3, 3);
+
+            engine.setDictionary(Dictionary.of(Arrays.asList("yellow", "low", "owl", "yell")));
+            GameState state = pool.take(6, 3);
+            assertEquals("yellow", state.getOriginal(), "original, from the new dictionary");
+            assertEquals(3, pool.getDiscardedCount(), "discarded");
+            assertEquals(0, pool.getHitCount(), "hits");
+            assertEquals(1, pool.getMissCount(), "misses");
+
+            awaitReady(pool, 6, 3, 3);
+            assertEquals("yellow", pool.take(6, 3).getOriginal(), "original, refilled");
+            assertEquals(1, pool.getHitCount(), "hits");
+        }
+    }
+
+    @Test
+    void givenEmptyPool_whenTake_thenCreatedSynchronously() {
+        try (GameStatePool pool = new GameStatePool(ENGINE, 0, 1)) {
+            GameState first = pool.take(5, 4);
+            GameState second = pool.take(5, 4);
+            assertEquals(5, first.getOriginal().length(), "original.length");
+            assertNotSame(first, second);
+            assertEquals(0, pool.getHitCount(), "hits");
+            assertEquals(2, pool.getMissCount(), "misses");
+            assertEquals(0, pool.getReadyCount(), "ready");
+        }
+    }
+
+    @Test
+    void givenInvalidSettings_thenException() {
+        assertThrows(IllegalArgumentException.class, () -> new GameStatePool(ENGINE, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new GameStatePool(ENGINE, 1, 0));
+    }
+
+}
@@ -0,0 +1,124 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class GameStateTest {
+
+    static final String[] WORDS = { "enlist", "inlet", "list", "listen", "silent", "tin", "tinsel" };
+
+    @Test
+    void givenExcludedOriginal_thenNotASubWord() {
+        GameState state = new GameState("listen", "netsil", WORDS, 3);
+        assertEquals(6, state.getTotalWords(), "totalWords");
+        assertEquals(6, state.getSubWords().size(), "subWords.size");
+        assertFalse(state.getSubWords().containsKey("listen"), "subWords.containsKey(listen)");
+        assertEquals(Arrays.asList("enlist", "inlet", "list", "silent", "tin", "tinsel"),
+                Arrays.asList(state.getSubWords().keySet().toArray()), "subWords.keys");
+        assertFalse(state.updateGuessWord("listen"), "guess=listen");
+    }
+
+    @Test
+    void givenForeignLettersOrTooLong_whenGuess_thenIncorrect() {
+        GameState state = new GameState("listen", "netsil", WORDS, 3);
+        assertFalse(state.updateGuessWord("tinsels"), "guess=tinsels, letters in words");
+        assertFalse(state.updateGuessWord("listened"), "guess=listened, too long");
+        assertFalse(state.updateGuessWord("zap"), "guess=zap");
+        assertFalse(state.updateGuessWord(""), "guess=empty");
+        assertArrayEquals(new GuessOutcome[] { GuessOutcome.INCORRECT, GuessOutcome.CORRECT },
+                state.updateGuessWords(Arrays.asList("xyz", "inlet")));
+        assertEquals(1, state.getGuessedCount(), "guessedCount");
+    }
+
+    @Test
+    void whenGuess_thenFlaggedAndCounted() {
+        GameState state = new GameState("listen", "netsil", WORDS, 3);
+        assertTrue(state.updateGuessWord("tinsel"), "guess=tinsel");
+        assertTrue(state.updateGuessWord("tin"), "guess=tin");
+        assertTrue(state.updateGuessWord("enlist"), "guess=enlist");
+        assertTrue(state.updateGuessWord("tin"), "guess=tin, again");
+        assertFalse(state.updateGuessWord("TIN"), "guess=TIN");
+        assertFalse(state.updateGuessWord("nest"), "guess=nest");
+        assertFalse(state.updateGuessWord(null), "guess=null");
+
+        assertEquals(3, state.getGuessedCount(), "guessedCount");
+        assertEquals(Arrays.asList("tin", "enlist", "tinsel"), state.getGuessedWords(), "guessedWords");
+        assertEquals(Boolean.TRUE, state.getSubWords().get("tinsel"), "subWords[tinsel]");
+        assertEquals(Boolean.FALSE, state.getSubWords().get("list"), "subWords[list]");
+        assertNull(state.getSubWords().get("listen"), "subWords[listen]");
+
+        assertEquals(GuessOutcome.ALREADY_GUESSED, state.guessWord("tin"), "guessWord=tin, again");
+        assertEquals(GuessOutcome.CORRECT, state.guessWord("inlet"), "guessWord=inlet");
+        assertEquals(GuessOutcome.INCORRECT, state.guessWord("nest"), "guessWord=nest");
+    }
+
+    @Test
+    void whenGuess_thenRemainingPerLength() {
+        GameState state = new GameState("listen", "netsil", WORDS, 3);
+        assertEquals(6, state.getRemainingWords(), "remaining");
+        assertEquals(3, state.getRemainingWords(6), "remaining(6)");
+        assertEquals(1, state.getRemainingWords(3), "remaining(3)");
+        assertEquals(0, state.getRemainingWords(9), "remaining(9)");
+
+        List<String> before = state.getGuessedWords();
+        state.updateGuessWord("silent");
+        state.updateGuessWord("silent");
+        state.updateGuessWord("inlet");
+        assertEquals(4, state.getRemainingWords(), "remaining");
+        assertEquals(2, state.getRemainingWords(6), "remaining(6)");
+        assertEquals(0, state.getRemainingWords(5), "remaining(5)");
+        assertTrue(before.isEmpty(), "snapshot before guesses");
+        assertEquals(Arrays.asList("inlet", "silent"), state.getGuessedWords(), "guessedWords");
+        assertThrows(UnsupportedOperationException.class, () -> state.getGuessedWords().add("tin"));
+    }
+
+    @Test
+    void whenGuessBatch_thenOutcomePerWord() {
+        GameState state = new GameState("listen", "netsil", WORDS, 3);
+        state.updateGuessWord("tin");
+        GuessOutcome[] outcomes = state.updateGuessWords(Arrays.asList("silent", "nest", "tin", "silent", null, "listen"));
+        assertArrayEquals(new GuessOutcome[] { GuessOutcome.CORRECT, GuessOutcome.INCORRECT,
+                GuessOutcome.ALREADY_GUESSED, GuessOutcome.ALREADY_GUESSED, GuessOutcome.INCORRECT,
+                GuessOutcome.INCORRECT }, outcomes);
+        assertEquals(Arrays.asList("tin", "silent"), state.getGuessedWords(), "guessedWords");
+        assertEquals(4, state.getRemainingWords(), "remaining");
+        assertEquals(0, state.updateGuessWords(Arrays.asList()).length, "empty batch");
+    }
+
+    @Test
+    void givenManySubWords_whenGuess_thenFlagsBeyondOneWord() {
+        String[] words = new String[130];
+        for (int ix = 0; ix < words.length; ix += 1) {
+            words[ix] = String.format("w%03d", ix);
+        }
+        GameState state = new GameState("w000", "0w00", words, 0);
+        assertTrue(state.updateGuessWord("w129"), "guess=w129");
+        assertTrue(state.updateGuessWord("w065"), "guess=w065");
+        assertEquals(Arrays.asList("w065", "w129"), state.getGuessedWords());
+        assertEquals(Boolean.FALSE, state.getSubWords().get("w001"), "subWords[w001]");
+    }
+
+    @Test
+    void givenMap_whenCreate_thenSameState() {
+        Map<String, Boolean> subWords = new TreeMap<>();
+        subWords.put("tin", Boolean.FALSE);
+        subWords.put("list", Boolean.TRUE);
+        subWords.put("inlet", Boolean.FALSE);
+        GameState state = new GameState("listen", "netsil", subWords);
+        assertEquals(subWords, state.getSubWords());
+        assertEquals(1, state.getGuessedCount(), "guessedCount");
+    }
+
+    @Test
+    void whenModifySubWords_thenRejected() {
+        GameState state = new GameState("listen", "netsil", WORDS, 3);
+        assertThrows(UnsupportedOperationException.class, () -> state.getSubWords().put("nest", Boolean.TRUE));
+    }
+
+}
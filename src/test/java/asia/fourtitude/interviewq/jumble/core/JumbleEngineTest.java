@@ -2,7 +2,10 @@ package asia.fourtitude.interviewq.jumble.core;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,11 +35,45 @@ class JumbleEngineTest {
         }
     }
 
+    @Test
+    void givenNoOtherArrangement_whenScramble_thenSameWord() {
+        assertEquals("aaa", engine.scramble("aaa"));
+        assertEquals("x", engine.scramble("x"));
+        for (int ix = 0; ix < 100; ix += 1) {
+            assertEquals("ba", engine.scramble("ab"));
+        }
+    }
+
+    @Test
+    void whenScrambleAll_thenEachScrambled() {
+        List<String> words = Arrays.asList("elephant", "egg", "zzz", "at");
+        List<String> scrambled = engine.scrambleAll(words);
+        assertEquals(words.size(), scrambled.size(), "size");
+        for (int ix = 0; ix < words.size(); ix += 1) {
+            char[] expected = words.get(ix).toCharArray();
+            char[] actual = scrambled.get(ix).toCharArray();
+            Arrays.sort(expected);
+            Arrays.sort(actual);
+            assertArrayEquals(expected, actual, "word=" + words.get(ix));
+        }
+        assertNotEquals("elephant", scrambled.get(0));
+        assertEquals("zzz", scrambled.get(2));
+        assertEquals("ta", scrambled.get(3));
+    }
+
     @Test
     void palindrome() {
         assertEquals(61, engine.retrievePalindromeWords().size(), "retrievePalindromeWords.size()");
     }
 
+    @Test
+    void semordnilap() {
+        Collection<String> words = engine.retrieveSemordnilapWords();
+        assertTrue(words.contains("stressed"), "word=stressed");
+        assertTrue(words.contains("desserts"), "word=desserts");
+        assertFalse(words.contains("level"), "word=level");
+    }
+
     @Test
     void randomWord() {
         assertNotNull(engine.pickOneRandomWord(null), "length=null");
@@ -49,6 +86,18 @@ class JumbleEngineTest {
         assertNull(engine.pickOneRandomWord(99), "length=99");
     }
 
+    @Test
+    void givenSameSeed_whenRandomWord_thenSameWords() {
+        SplittableRandom random1 = new SplittableRandom(2024L);
+        SplittableRandom random2 = new SplittableRandom(2024L);
+        for (int ix = 0; ix < 10; ix += 1) {
+            String word = engine.pickOneRandomWord(6, random1);
+            assertEquals(6, word.length(), "length=6");
+            assertEquals(word, engine.pickOneRandomWord(6, random2), "seed=2024");
+        }
+        assertNull(engine.pickOneRandomWord(99, random1), "length=99");
+    }
+
     @Test
     void givenEmptyInvalidWord_thenExpectNotExists() {
         assertFalse(engine.exists(null), "word=null");
@@ -92,6 +141,14 @@ class JumbleEngineTest {
         assertEquals(engine.wordsMatchingPrefix("PeN").size(), engine.wordsMatchingPrefix("pen").size(), "prefix=CASE_INSENSITIVE");
     }
 
+    @Test
+    void givenValidSuffix_thenSomeWords() {
+        assertEquals(677, engine.wordsMatchingSuffix("C").size(), "suffix=C");
+        assertEquals(engine.wordsMatchingSuffix("ing").size(), engine.countWordsMatchingSuffix("ING"), "suffix=ING");
+        assertEquals(0, engine.wordsMatchingSuffix("!").size(), "suffix=<PUNCT>");
+        assertEquals(0, engine.countWordsMatchingSuffix(null), "suffix=null");
+    }
+
     @Test
     void givenAllEmptyAndOrInvalidInputs_thenEmptyList() {
         assertEquals(0, engine.searchWords(null, null, null).size(), "start=null;end=null;length=null");
@@ -169,6 +226,14 @@ class JumbleEngineTest {
         assertEquals(0, engine.generateSubWords("fusion", 5).size(), "word=fusion;len=5");
     }
 
+    @Test
+    void givenRackOverMaxLength_whenGenerateSubWords_thenException() {
+        String rack = "abcdefghijklmnopqrstuvwxyzabcdefg";
+        assertEquals(JumbleEngine.MAX_RACK_LENGTH + 1, rack.length());
+        assertThrows(IllegalArgumentException.class, () -> engine.generateSubWords(rack, 3));
+        assertFalse(engine.generateSubWords(" " + rack.substring(1) + " ", 3).isEmpty(), "trimmed, at max length");
+    }
+
     @Test
     void whenValidWord_thenSomeWord() {
         assertEquals(16, engine.generateSubWords("fusion", null).size(), "word=fusion;len=null");
@@ -180,6 +245,14 @@ class JumbleEngineTest {
         assertEquals(0, engine.generateSubWords("fusion", 5).size(), "word=fusion;len=5");
     }
 
+    @Test
+    void whenValidWord_thenOnlyItsLetters() {
+        assertEquals(Arrays.asList("low", "lowly", "lye", "ole", "owe", "owl", "well", "welly", "woe", "yell", "yeow", "yew", "yowl"),
+                engine.generateSubWords("yellow", 3), "word=yellow;len=3");
+        assertEquals(Arrays.asList("enlist", "inlets", "silent", "tinsel"),
+                engine.generateSubWords("LISTEN", 6), "word=LISTEN;len=6");
+    }
+
     @Test
     void givenValidInput_whenCreateGameState_thenExpectSuccess() {
         assertNotNull(engine.createGameState(3, null), "length=3;minLength=null");
@@ -0,0 +1,86 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.jupiter.api.Test;
+
+class SubWordCacheTest {
+
+    static final Dictionary DICTIONARY = Dictionary.of(Arrays.asList("listen", "silent", "tinsel", "list", "lint",
+            "tin", "sit", "net", "ten", "yellow", "low", "owl"));
+
+    @Test
+    void givenAnagrams_whenGenerateSubWords_thenSharedEntry() {
+        SubWordCache cache = new SubWordCache(10);
+        JumbleEngine engine = new JumbleEngine(DICTIONARY, cache);
+
+        Collection<String> listen = engine.generateSubWords("listen", 3);
+        Collection<String> silent = engine.generateSubWords("Silent", 3);
+        assertEquals(1, cache.getMissCount(), "misses");
+        assertEquals(1, cache.getHitCount(), "hits");
+        assertEquals(1, cache.size(), "size");
+
+        assertFalse(listen.contains("listen"), "listen.contains(listen)");
+        assertTrue(listen.contains("silent"), "listen.contains(silent)");
+        assertFalse(silent.contains("silent"), "silent.contains(silent)");
+        assertTrue(silent.contains("listen"), "silent.contains(listen)");
+
+        assertEquals(Arrays.asList("lint", "list", "silent", "tinsel"),
+                engine.generateSubWords("listen", 4), "minLength=4");
+        assertEquals(1, cache.getMissCount(), "misses, minLength=4 served by minLength=3");
+        assertEquals(2, cache.getHitCount(), "hits");
+    }
+
+    @Test
+    void givenLongerMinLength_whenShorterRequested_thenRecomputed() {
+        SubWordCache cache = new SubWordCache(10);
+        assertEquals(Arrays.asList("listen", "silent", "tinsel"),
+                Arrays.asList(cache.subWords(DICTIONARY, "listen", 5)), "minLength=5");
+        assertTrue(Arrays.asList(cache.subWords(DICTIONARY, "listen", 3)).contains("tin"), "minLength=3");
+        assertEquals(2, cache.getMissCount(), "misses");
+        assertEquals(Arrays.asList("listen", "silent", "tinsel"),
+                Arrays.asList(cache.subWords(DICTIONARY, "listen", 5)), "minLength=5, cached");
+        assertEquals(1, cache.getHitCount(), "hits, minLength=5 served by minLength=3");
+        assertEquals(1, cache.size(), "size");
+    }
+
+    @Test
+    void givenFull_whenNewKey_thenLeastRecentlyUsedEvicted() {
+        SubWordCache cache = new SubWordCache(2);
+        cache.subWords(DICTIONARY, "listen", 3);
+        cache.subWords(DICTIONARY, "yellow", 3);
+        cache.subWords(DICTIONARY, "listen", 3);
+        cache.subWords(DICTIONARY, "tin", 3);
+        assertEquals(1, cache.getEvictionCount(), "evictions");
+        assertEquals(2, cache.size(), "size");
+
+        cache.subWords(DICTIONARY, "enlist", 3);
+        assertEquals(2, cache.getHitCount(), "hits, listen kept");
+        cache.subWords(DICTIONARY, "yellow", 3);
+        assertEquals(4, cache.getMissCount(), "misses, yellow evicted");
+    }
+
+    @Test
+    void givenOtherDictionary_whenSubWords_thenNotServedFromCache() {
+        SubWordCache cache = new SubWordCache(10);
+        Dictionary other = Dictionary.of(Arrays.asList("listen", "lens"));
+        assertTrue(Arrays.asList(cache.subWords(DICTIONARY, "listen", 3)).contains("tin"), "DICTIONARY");
+        assertEquals(Arrays.asList("lens", "listen"), Arrays.asList(cache.subWords(other, "listen", 3)), "other");
+        assertEquals(0, cache.getHitCount(), "hits");
+        assertEquals(2, cache.getMissCount(), "misses");
+    }
+
+    @Test
+    void givenZeroCapacity_thenNotCached() {
+        SubWordCache cache = new SubWordCache(0);
+        JumbleEngine engine = new JumbleEngine(DICTIONARY, cache);
+        assertEquals(engine.generateSubWords("yellow", 3), engine.generateSubWords("yellow", 3));
+        assertEquals(0, cache.getHitCount(), "hits");
+        assertEquals(2, cache.getMissCount(), "misses");
+        assertEquals(0, cache.size(), "size");
+    }
+
+}
@@ -0,0 +1,50 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class SubWordExecutorTest {
+
+    static final Dictionary DICTIONARY = Dictionary.load();
+
+    @Test
+    void givenLongRacks_whenParallel_thenSameAsSequential() {
+        try (SubWordExecutor executor = new SubWordExecutor(4, 1)) {
+            for (String rack : Arrays.asList("uncharacteristically", "abcdefghijklmnop", "aaabbbcccdddeeefff",
+                    "Internationalisation", "listen", "a")) {
+                for (int minLength : new int[] { 1, 3, 8 }) {
+                    assertEquals(DICTIONARY.subWords(rack, minLength),
+                            DICTIONARY.subWords(rack, minLength, executor.poolFor(rack.length())),
+                            rack + ", minLength=" + minLength);
+                }
+            }
+        }
+    }
+
+    @Test
+    void givenThreshold_whenGenerateSubWords_thenOnlyLongRacksParallel() {
+        try (SubWordExecutor executor = new SubWordExecutor(2, 10)) {
+            JumbleEngine engine = new JumbleEngine(DICTIONARY, new SubWordCache(10), executor);
+            JumbleEngine sequential = new JumbleEngine(DICTIONARY);
+
+            assertEquals(sequential.generateSubWords("yellow", 3), engine.generateSubWords("yellow", 3), "yellow");
+            assertEquals(0, executor.getParallelCount(), "parallel, short rack");
+
+            String rack = "uncharacteristically";
+            assertEquals(sequential.generateSubWords(rack, 3), engine.generateSubWords(rack, 3), rack);
+            assertEquals(1, executor.getParallelCount(), "parallel, long rack");
+            engine.generateSubWords(rack, 3);
+            assertEquals(1, executor.getParallelCount(), "parallel, cached");
+        }
+    }
+
+    @Test
+    void givenInvalidSettings_thenException() {
+        assertThrows(IllegalArgumentException.class, () -> new SubWordExecutor(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SubWordExecutor(1, 0));
+    }
+
+}
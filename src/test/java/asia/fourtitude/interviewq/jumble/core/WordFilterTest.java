@@ -0,0 +1,63 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class WordFilterTest {
+
+    static final Dictionary BUNDLED = Dictionary.load();
+
+    @Test
+    void givenAllWords_thenNoFalseNegative() {
+        Dictionary dictionary = BUNDLED.withFilter(0.01);
+        for (String word : BUNDLED.words()) {
+            assertTrue(dictionary.contains(word), word);
+        }
+        assertEquals(BUNDLED.size(), dictionary.filter().getPassedCount(), "passed");
+        assertEquals(0, dictionary.filter().getRejectedCount(), "rejected");
+        assertTrue(dictionary.contains("LiStEn"), "case insensitive");
+    }
+
+    @Test
+    void givenNonWords_thenMostlyRejected() {
+        Dictionary dictionary = BUNDLED.withFilter(0.01);
+        WordFilter filter = dictionary.filter();
+        int checked = 0;
+        for (String word : BUNDLED.words()) {
+            // not words: the reversed words that are not in the dictionary
+            String reversed = new StringBuilder(word).reverse().append('q').toString();
+            assertFalse(dictionary.contains(reversed), reversed);
+            checked += 1;
+        }
+        assertEquals(checked, filter.getRejectedCount() + filter.getPassedCount(), "checked");
+        assertEquals(filter.getPassedCount(), filter.getFalsePositiveCount(), "falsePositives");
+        double rate = (double) filter.getFalsePositiveCount() / checked;
+        assertTrue(rate < 0.02, "falsePositiveRate=" + rate);
+        assertTrue(filter.getRejectedRatio() > 0.98, "rejectedRatio=" + filter.getRejectedRatio());
+        assertTrue(filter.sizeInBytes() < BUNDLED.size() * 2L, "bytes=" + filter.sizeInBytes());
+    }
+
+    @Test
+    void whenWithFilter_thenSameWords() {
+        Dictionary dictionary = Dictionary.of(Arrays.asList("apple", "banana", "pear"));
+        Dictionary filtered = dictionary.withFilter(0.1);
+        assertNull(dictionary.filter(), "unfiltered");
+        assertEquals(dictionary.words(), filtered.words());
+        assertEquals(1, filtered.indexOf("BANANA"), "indexOf(BANANA)");
+        assertEquals(-1, filtered.indexOf("grape"), "indexOf(grape)");
+        assertEquals(-1, filtered.indexOf(null), "indexOf(null)");
+        assertTrue(new JumbleEngine(filtered).exists("pear"), "exists(pear)");
+    }
+
+    @Test
+    void givenInvalidRate_thenRejected() {
+        Dictionary dictionary = Dictionary.of(Arrays.asList("apple"));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.withFilter(0));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.withFilter(1));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.withFilter(Double.NaN));
+    }
+
+}
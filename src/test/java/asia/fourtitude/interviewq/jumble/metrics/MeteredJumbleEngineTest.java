@@ -0,0 +1,157 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import asia.fourtitude.interviewq.jumble.core.Dictionary;
+import asia.fourtitude.interviewq.jumble.core.DictionaryWatcher;
+import asia.fourtitude.interviewq.jumble.core.GameStatePool;
+import asia.fourtitude.interviewq.jumble.core.SubWordCache;
+import asia.fourtitude.interviewq.jumble.model.GameGuessModel;
+import asia.fourtitude.interviewq.jumble.repository.FileGameRepository;
+import asia.fourtitude.interviewq.jumble.repository.InMemoryGameRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MeteredJumbleEngineTest {
+
+    static final Dictionary DICTIONARY = Dictionary.of(Arrays.asList("listen", "silent", "tinsel", "list", "lint",
+            "tin", "sit", "net", "ten", "yellow", "low", "owl"));
+
+    final MeterRegistry registry = new SimpleMeterRegistry();
+
+    final MeteredJumbleEngine engine = new MeteredJumbleEngine(DICTIONARY, new SubWordCache(10), registry);
+
+    @Test
+    void whenCalled_thenTimedPerMethod() {
+        engine.exists("tin");
+        engine.exists("nope");
+        engine.scramble("listen");
+        engine.createGameState(6, 3);
+
+        assertEquals(2, registry.get(MeteredJumbleEngine.TIMER).tag("method", "exists").timer().count(), "exists");
+        assertEquals(1, registry.get(MeteredJumbleEngine.TIMER).tag("method", "scramble").timer().count(),
+                "scramble, not counted again by createGameState");
+        assertEquals(1, registry.get(MeteredJumbleEngine.TIMER).tag("method", "createGameState").timer().count(),
+                "createGameState");
+        assertEquals(0, registry.get(MeteredJumbleEngine.TIMER).tag("method", "pickOneRandomWord").timer().count(),
+                "pickOneRandomWord");
+    }
+
+    @Test
+    void whenQueried_thenResultSizesRecorded() {
+        int subWords = engine.generateSubWords("listen", 3).size();
+        assertEquals(1, engine.wordsMatchingPrefix("lin").size());
+        assertEquals(2, engine.wordsMatchingPrefix("lis").size());
+
+        assertEquals(1, registry.get(MeteredJumbleEngine.RESULTS).tag("query", "subWords").summary().count());
+        assertEquals(subWords, registry.get(MeteredJumbleEngine.RESULTS).tag("query", "subWords").summary()
+                .totalAmount());
+        assertEquals(2, registry.get(MeteredJumbleEngine.RESULTS).tag("query", "prefix").summary().count());
+        assertEquals(3, registry.get(MeteredJumbleEngine.RESULTS).tag("query", "prefix").summary().totalAmount());
+        assertEquals(2, registry.get(MeteredJumbleEngine.TIMER).tag("method", "wordsMatchingPrefix").timer().count());
+    }
+
+    @Test
+    void whenBound_thenGaugesReadState() {
+        try (InMemoryGameRepository games = new InMemoryGameRepository(10, Duration.ofMinutes(1),
+                Duration.ofMinutes(1), Duration.ZERO); GameStatePool pool = new GameStatePool(engine, 0, 1)) {
+            new JumbleMetrics(engine, games, pool).bindTo(registry);
+            assertEquals(0, registry.get("jumble.games.live").gauge().value(), "games");
+            for (int ix = 0; ix < 11; ix += 1) {
+                GameGuessModel model = new GameGuessModel();
+                model.setId("game-" + ix);
+                games.save(model);
+            }
+            assertEquals(games.size(), registry.get("jumble.games.live").gauge().value(), "games");
+            assertEquals(games.getCapacityEvictionCount(), registry.get("jumble.games.evictions")
+                    .tag("reason", "capacity").functionCounter().count(), "capacity evictions");
+            assertTrue(games.getCapacityEvictionCount() > 0, "evicted over capacity");
+            assertEquals(0, registry.get("jumble.games.evictions").tag("reason", "idle").functionCounter().count(),
+                    "idle evictions");
+            assertEquals(DICTIONARY.size(), registry.get("jumble.dictionary.words").gauge().value(), "words");
+            assertTrue(registry.get("jumble.dictionary.index.memory").gauge().value() > 0, "index memory");
+            assertEquals(0, registry.get("jumble.dictionary.filter.memory").gauge().value(), "no filter");
+
+            engine.generateSubWords("listen", 3);
+            engine.generateSubWords("silent", 3);
+            assertEquals(1, registry.get("jumble.subword.cache.requests").tag("result", "hit").functionCounter()
+                    .count(), "cache hits");
+            assertEquals(1, registry.get("jumble.subword.cache.size").gauge().value(), "cache size");
+        }
+    }
+
+    @Test
+    void givenFileRepository_whenBound_thenLogCountersRead(@TempDir Path directory) {
+        InMemoryGameRepository games = new InMemoryGameRepository(10, Duration.ofMinutes(1), Duration.ofMinutes(1),
+                Duration.ZERO);
+        try (GameStatePool pool = new GameStatePool(engine, 0, 1)) {
+            FileGameRepository repository = new FileGameRepository(directory, games, Duration.ZERO, false);
+            new JumbleMetrics(engine, repository, pool).bindTo(registry);
+            GameGuessModel model = new GameGuessModel();
+            model.setId("a");
+            model.setGameState(engine.createGameState(6, 3));
+            repository.save(model);
+            repository.close();
+
+            assertEquals(1, registry.get("jumble.games.log.records").tag("result", "written").functionCounter()
+                    .count(), "written");
+            assertEquals(0, registry.get("jumble.games.log.records").tag("result", "failed").functionCounter()
+                    .count(), "failed");
+            assertEquals(1, registry.get("jumble.games.log.batches").functionCounter().count(), "batches");
+            assertEquals(0, registry.get("jumble.games.evictions").tag("reason", "capacity").functionCounter()
+                    .count(), "evictions, of the in-memory store");
+        }
+    }
+
+    @Test
+    void givenWatcher_whenReloaded_thenReloadAndDiscardCountersRead(@TempDir Path directory) {
+        InMemoryGameRepository games = new InMemoryGameRepository(10, Duration.ofMinutes(1), Duration.ofMinutes(1),
+                Duration.ZERO);
+        Dictionary reloaded = Dictionary.of(Arrays.asList("yellow", "low", "owl"));
+        boolean[] fail = { false };
+        try (GameStatePool pool = new GameStatePool(engine, 1, 1);
+                DictionaryWatcher watcher = new DictionaryWatcher(directory.resolve("words.txt"), file -> {
+                    if (fail[0]) {
+                        throw new IllegalStateException("corrupt");
+                    }
+                    return reloaded;
+                }, engine, Duration.ofHours(1))) {
+            new JumbleMetrics(() -> engine, games, () -> pool, () -> watcher).bindTo(registry);
+            pool.prefill(6, 3);
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (pool.getReadyCount(6, 3) < 1 && System.currentTimeMillis() < deadline) {
+                Thread.yield();
+            }
+
+            assertTrue(watcher.reload(), "reload");
+            fail[0] = true;
+            assertFalse(watcher.reload(), "reload, failed");
+            assertEquals("yellow", pool.take(6, 3).getOriginal(), "game of the reloaded dictionary");
+
+            assertEquals(1, registry.get("jumble.dictionary.reloads").tag("result", "success").functionCounter()
+                    .count(), "reloads");
+            assertEquals(1, registry.get("jumble.dictionary.reloads").tag("result", "failure").functionCounter()
+                    .count(), "failed reloads");
+            assertEquals(1, registry.get("jumble.game.pool.discarded").functionCounter().count(), "discarded");
+        }
+    }
+
+    @Test
+    void givenNoWatcher_whenBound_thenReloadCountersZero() {
+        InMemoryGameRepository games = new InMemoryGameRepository(10, Duration.ofMinutes(1), Duration.ofMinutes(1),
+                Duration.ZERO);
+        try (GameStatePool pool = new GameStatePool(engine, 0, 1)) {
+            new JumbleMetrics(engine, games, pool).bindTo(registry);
+            assertEquals(0, registry.get("jumble.dictionary.reloads").tag("result", "success").functionCounter()
+                    .count(), "reloads");
+        }
+    }
+
+}
@@ -0,0 +1,357 @@
+package asia.fourtitude.interviewq.jumble.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.model.GameGuessModel;
+
+class FileGameRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    FileGameRepository open() {
+        InMemoryGameRepository games = new InMemoryGameRepository(100, Duration.ofMinutes(30), Duration.ofMinutes(1),
+                Duration.ZERO);
+        return new FileGameRepository(directory, games, Duration.ZERO, false);
+    }
+
+    /**
+     * Writes the first `failAfter` bytes of the next write, then fails it, like a
+     * full disk would. Truncation fails too when `failTruncate`.
+     */
+    static class FailingChannel extends FileChannel {
+
+        final FileChannel channel;
+
+        int failAfter = -1;
+
+        boolean failTruncate;
+
+        FailingChannel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            if (failAfter < 0) {
+                return channel.write(srcs, offset, length);
+            }
+            ByteBuffer partial = srcs[offset].duplicate();
+            partial.limit(partial.position() + Math.min(failAfter, partial.remaining()));
+            channel.write(partial);
+            failAfter = -1;
+            throw new IOException("No space left on device");
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("Cannot truncate");
+            }
+            channel.truncate(size);
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return channel.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return channel.read(dsts, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return channel.write(src);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            channel.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            channel.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return channel.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return channel.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return channel.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return channel.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return channel.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return channel.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return channel.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            channel.close();
+        }
+
+    }
+
+    final List<FailingChannel> channels = new ArrayList<>();
+
+    FileGameRepository openFailing() {
+        InMemoryGameRepository games = new InMemoryGameRepository(100, Duration.ofMinutes(30), Duration.ofMinutes(1),
+                Duration.ZERO);
+        return new FileGameRepository(directory, games, Duration.ZERO, false) {
+            @Override
+            FileChannel openSegment(long number) throws IOException {
+                FailingChannel channel = new FailingChannel(super.openSegment(number));
+                channels.add(channel);
+                return channel;
+            }
+        };
+    }
+
+    static void awaitWritten(FileGameRepository repository, long count) throws InterruptedException {
+        for (int ix = 0; ix < 500 && repository.getRecordCount() + repository.getFailureCount() < count; ix += 1) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, repository.getRecordCount() + repository.getFailureCount(), "records written or failed");
+    }
+
+    static GameGuessModel game(String id) {
+        Map<String, Boolean> subWords = new TreeMap<>();
+        for (String word : Arrays.asList("enlist", "inlet", "list", "silent", "tin", "tinsel")) {
+            subWords.put(word, Boolean.FALSE);
+        }
+        GameGuessModel model = new GameGuessModel();
+        model.setId(id);
+        model.setGameState(new GameState("listen", "netsil", subWords));
+        return model;
+    }
+
+    static void guess(GameRepository repository, String id, String word) {
+        GameGuessModel model = repository.findById(id);
+        assertTrue(model.getGameState().updateGuessWord(word), "guess=" + word);
+        repository.recordGuess(model, word);
+    }
+
+    List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void givenGamesAndGuesses_whenReopen_thenRestored() {
+        GameGuessModel saved = game("a");
+        try (FileGameRepository repository = open()) {
+            repository.save(saved);
+            repository.save(game("b"));
+            guess(repository, "a", "tin");
+            guess(repository, "a", "silent");
+        }
+
+        try (FileGameRepository repository = open()) {
+            assertEquals(2, repository.size(), "size");
+            GameGuessModel model = repository.findById("a");
+            GameState state = model.getGameState();
+            assertEquals("listen", state.getOriginal(), "original");
+            assertEquals("netsil", state.getScramble(), "scramble");
+            assertEquals(6, state.getTotalWords(), "totalWords");
+            assertEquals(Arrays.asList("tin", "silent"), state.getGuessedWords(), "guessedWords");
+            assertEquals(saved.getCreatedAt(), model.getCreatedAt(), "createdAt");
+            assertEquals(0, repository.findById("b").getGameState().getGuessedCount(), "b.guessedCount");
+        }
+    }
+
+    @Test
+    void whenCompact_thenSnapshotReplacesLog() throws IOException {
+        try (FileGameRepository repository = open()) {
+            repository.save(game("a"));
+            guess(repository, "a", "tin");
+            repository.compact();
+            assertEquals(Arrays.asList("games-0000000001.log", "games-0000000001.snapshot"), files());
+
+            // after the snapshot, replayed from the log
+            guess(repository, "a", "list");
+            repository.save(game("b"));
+        }
+        try (FileGameRepository repository = open()) {
+            assertEquals(2, repository.size(), "size");
+            assertEquals(Arrays.asList("tin", "list"), repository.findById("a").getGameState().getGuessedWords());
+        }
+    }
+
+    @Test
+    void givenPartialRecordAtEnd_whenReopen_thenIgnored() throws IOException {
+        FileGameRepository repository = open();
+        repository.save(game("a"));
+        guess(repository, "a", "tin");
+        repository.close();
+
+        // simulate a crash: the last segment ends with an incomplete record
+        Path log = directory.resolve(files().get(0));
+        Files.write(log, new byte[] { 0, 0, 0, 40, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        try (FileGameRepository reopened = open()) {
+            assertEquals(Arrays.asList("tin"), reopened.findById("a").getGameState().getGuessedWords());
+            guess(reopened, "a", "inlet");
+        }
+        try (FileGameRepository reopened = open()) {
+            assertEquals(Arrays.asList("tin", "inlet"), reopened.findById("a").getGameState().getGuessedWords());
+        }
+    }
+
+    /*
+     * Not closed before reopening (crash), so the removals are replayed from the
+     * log rather than left out of a snapshot.
+     */
+    @Test
+    void givenEvictedGames_whenReopen_thenStayRemoved() throws Exception {
+        InMemoryGameRepositoryTest.MutableClock clock = new InMemoryGameRepositoryTest.MutableClock();
+        InMemoryGameRepository games = new InMemoryGameRepository(3, Duration.ofMinutes(30), Duration.ofMinutes(1),
+                Duration.ZERO, clock);
+        FileGameRepository repository = new FileGameRepository(directory, games, Duration.ZERO, false);
+        try {
+            repository.save(game("a"));
+            repository.save(game("b"));
+            clock.advance(Duration.ofMinutes(31));
+            assertNull(repository.findById("a"), "a, idle");
+            games.sweep();
+            assertEquals(0, repository.size(), "b, swept");
+            for (String id : Arrays.asList("c", "d", "e", "f")) {
+                repository.save(game(id));
+            }
+            assertEquals(2, games.getCapacityEvictionCount(), "capacity evictions");
+            awaitWritten(repository, 10);
+
+            try (FileGameRepository reopened = new FileGameRepository(directory, new InMemoryGameRepository(3,
+                    Duration.ofMinutes(30), Duration.ofMinutes(1), Duration.ZERO, clock), Duration.ZERO, false)) {
+                assertEquals(2, reopened.size(), "size");
+                for (GameGuessModel model : games.games()) {
+                    assertNotNull(reopened.findById(model.getId()), "kept " + model.getId());
+                }
+                for (String id : Arrays.asList("a", "b")) {
+                    assertNull(reopened.findById(id), "expired " + id);
+                }
+            }
+        } finally {
+            repository.close();
+        }
+    }
+
+    @Test
+    void whenManyWrites_thenBatched() {
+        try (FileGameRepository repository = open()) {
+            for (int ix = 0; ix < 200; ix += 1) {
+                repository.save(game("g" + ix));
+            }
+            repository.close();
+            assertEquals(100, repository.getGames().getCapacityEvictionCount(), "evictions");
+            assertEquals(300, repository.getRecordCount(), "records, created and evicted");
+            assertTrue(repository.getBatchCount() <= 200, "batches");
+            assertEquals(0, repository.getFailureCount(), "failures");
+            assertThrows(IllegalStateException.class, () -> repository.save(game("late")));
+        }
+    }
+
+    @Test
+    void givenPartialWrite_whenWriteFails_thenTruncatedAndLaterRecordsReplayed() throws Exception {
+        givenPartialWrite_thenLaterRecordsReplayed(false);
+    }
+
+    @Test
+    void givenPartialWriteNotTruncated_whenWriteFails_thenNextSegment() throws Exception {
+        givenPartialWrite_thenLaterRecordsReplayed(true);
+    }
+
+    /*
+     * The failed record is lost, the ones after it are not. The repository is
+     * not closed before reopening (crash), so no snapshot covers the log.
+     */
+    void givenPartialWrite_thenLaterRecordsReplayed(boolean failTruncate) throws Exception {
+        FileGameRepository repository = openFailing();
+        try {
+            repository.save(game("a"));
+            guess(repository, "a", "tin");
+            awaitWritten(repository, 2);
+
+            FailingChannel channel = channels.get(channels.size() - 1);
+            channel.failTruncate = failTruncate;
+            channel.failAfter = 5;
+            guess(repository, "a", "list");
+            awaitWritten(repository, 3);
+            assertEquals(1, repository.getFailureCount(), "failures");
+
+            guess(repository, "a", "inlet");
+            repository.save(game("b"));
+            awaitWritten(repository, 5);
+            assertEquals(failTruncate ? 2 : 1, channels.size(), "segments opened");
+
+            try (FileGameRepository reopened = open()) {
+                assertEquals(Arrays.asList("tin", "inlet"), reopened.findById("a").getGameState().getGuessedWords());
+                assertNotNull(reopened.findById("b"), "b, after the failed write");
+            }
+        } finally {
+            repository.close();
+        }
+    }
+
+}
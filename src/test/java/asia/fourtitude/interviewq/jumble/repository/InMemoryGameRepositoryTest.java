@@ -0,0 +1,145 @@
+package asia.fourtitude.interviewq.jumble.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.model.GameGuessModel;
+
+class InMemoryGameRepositoryTest {
+
+    static class MutableClock extends Clock {
+
+        long millis = 1_000_000L;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+    }
+
+    final MutableClock clock = new MutableClock();
+
+    InMemoryGameRepository repository(int maxEntries) {
+        return new InMemoryGameRepository(maxEntries, Duration.ofMinutes(30), Duration.ofMinutes(1), Duration.ZERO,
+                clock);
+    }
+
+    static GameGuessModel game(String id, boolean finished) {
+        Map<String, Boolean> subWords = Collections.singletonMap("tin", finished);
+        GameGuessModel model = new GameGuessModel();
+        model.setId(id);
+        model.setGameState(new GameState("tinsel", "lesnit", subWords));
+        return model;
+    }
+
+    @Test
+    void whenSave_thenTimestampsSet() {
+        InMemoryGameRepository repository = repository(10);
+        GameGuessModel model = game("a", false);
+        repository.save(model);
+        assertEquals(clock.millis, model.getCreatedAt().getTime(), "createdAt");
+        assertEquals(clock.millis, model.getModifiedAt().getTime(), "modifiedAt");
+
+        clock.advance(Duration.ofSeconds(5));
+        assertSame(model, repository.findById("a"));
+        assertEquals(clock.millis - 5000, model.getCreatedAt().getTime(), "createdAt");
+        assertEquals(clock.millis, model.getModifiedAt().getTime(), "modifiedAt");
+        assertNull(repository.findById("b"), "findById(b)");
+        assertNull(repository.findById(null), "findById(null)");
+    }
+
+    @Test
+    void givenIdle_whenFindById_thenExpired() {
+        InMemoryGameRepository repository = repository(10);
+        repository.save(game("a", false));
+        clock.advance(Duration.ofMinutes(20));
+        assertNotNull(repository.findById("a"), "after 20 minutes");
+        clock.advance(Duration.ofMinutes(20));
+        assertNotNull(repository.findById("a"), "20 minutes since last access");
+        clock.advance(Duration.ofMinutes(31));
+        assertNull(repository.findById("a"), "31 minutes since last access");
+        assertEquals(0, repository.size(), "size");
+        assertEquals(1, repository.getIdleEvictionCount(), "idleEvictions, not swept");
+    }
+
+    @Test
+    void givenIdleAndFinished_whenSweep_thenRemoved() {
+        InMemoryGameRepository repository = repository(10);
+        repository.save(game("idle", false));
+        repository.save(game("finished", true));
+        clock.advance(Duration.ofMinutes(2));
+        repository.save(game("playing", false));
+
+        repository.sweep();
+        assertNull(repository.findById("finished"), "finished");
+        assertEquals(1, repository.getFinishedEvictionCount(), "finishedEvictions");
+        assertEquals(2, repository.size(), "size");
+
+        clock.advance(Duration.ofMinutes(29));
+        repository.sweep();
+        assertNull(repository.findById("idle"), "idle");
+        assertNotNull(repository.findById("playing"), "playing");
+        assertEquals(1, repository.getIdleEvictionCount(), "idleEvictions");
+    }
+
+    @Test
+    void givenFull_whenSave_thenFinishedThenLeastRecentlyAccessedEvicted() {
+        InMemoryGameRepository repository = repository(3);
+        repository.save(game("old", false));
+        clock.advance(Duration.ofSeconds(1));
+        repository.save(game("done", true));
+        clock.advance(Duration.ofSeconds(1));
+        repository.save(game("new", false));
+        clock.advance(Duration.ofSeconds(1));
+        repository.findById("old");
+
+        // evicts a batch, down to maxEntries - 1
+        repository.save(game("x", false));
+        assertEquals(2, repository.size(), "size");
+        assertEquals(2, repository.getCapacityEvictionCount(), "capacityEvictions");
+        assertNull(repository.findById("done"), "done, finished");
+        assertNull(repository.findById("new"), "new, least recently accessed");
+        assertNotNull(repository.findById("old"), "old");
+        assertNotNull(repository.findById("x"), "x");
+
+        repository.save(game("y", false));
+        assertEquals(3, repository.size(), "size, within maxEntries");
+        assertEquals(2, repository.getCapacityEvictionCount(), "capacityEvictions");
+    }
+
+    @Test
+    void givenInvalidMaxEntries_thenRejected() {
+        assertThrows(IllegalArgumentException.class, () -> repository(0));
+    }
+
+}